@@ -3,6 +3,7 @@ package com.auvexis.vanguard;
 import org.springframework.amqp.rabbit.annotation.EnableRabbit;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 import org.springframework.scheduling.annotation.EnableScheduling;
@@ -13,6 +14,7 @@ import org.springframework.scheduling.annotation.EnableScheduling;
  * the core server environment.
  */
 @SpringBootApplication
+@ConfigurationPropertiesScan
 @EnableJpaAuditing
 @EnableCaching
 @EnableScheduling
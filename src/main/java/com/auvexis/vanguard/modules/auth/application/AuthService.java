@@ -1,19 +1,24 @@
 package com.auvexis.vanguard.modules.auth.application;
 
+import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.auvexis.vanguard.modules.auth.application.exception.EmailAlreadyInUseException;
 import com.auvexis.vanguard.modules.auth.application.exception.EmailNotVerifiedException;
 import com.auvexis.vanguard.modules.auth.application.exception.InvalidCredentialsException;
 import com.auvexis.vanguard.modules.auth.application.exception.RefreshTokenExpiredException;
 import com.auvexis.vanguard.modules.auth.domain.EmailVerification;
-import com.auvexis.vanguard.modules.auth.domain.RefreshToken;
 import com.auvexis.vanguard.modules.auth.domain.User;
+import com.auvexis.vanguard.modules.auth.infrastructure.cache.RegisteredEmailIndex;
 import com.auvexis.vanguard.modules.auth.infrastructure.repository.EmailVerificationRepository;
+import com.auvexis.vanguard.modules.auth.infrastructure.repository.LoginCredentials;
 import com.auvexis.vanguard.modules.auth.infrastructure.repository.UserRepository;
+import com.auvexis.vanguard.modules.auth.infrastructure.security.VerificationTokenService;
 import com.auvexis.vanguard.modules.auth.messaging.UserPublisher;
 import com.auvexis.vanguard.modules.auth.web.dtos.LoginRequest;
 import com.auvexis.vanguard.modules.auth.web.dtos.LoginResponse;
@@ -32,99 +37,143 @@ import jakarta.transaction.Transactional;
  * refresh operations.
  * Integrates with messaging infrastructure for asynchronous email verification
  * triggers.
+ *
+ * Password hashing waits for a slot on the bounded hashing pool, so register
+ * and login hash outside any transaction: a burst queued on the pool must not
+ * also hold database connections that every other endpoint needs.
  */
 @Service
 @Transactional
 public class AuthService {
 
+    /**
+     * Profiles are cached by email, with a local copy on each node in front of
+     * Redis.
+     */
+    public static final String PROFILE_CACHE = "auth:user:profile";
+
+    private static final String UNIQUE_VIOLATION = "23505";
+
     private final UserRepository repo;
     private final PasswordEncoder pwdEncoder;
     private final JwtService jwtService;
     private final UserPublisher userPublisher;
     private final EmailVerificationRepository emailVerificationRepository;
+    private final VerificationTokenService verificationTokens;
+    private final RegisteredEmailIndex emailIndex;
+    private final TransactionTemplate transactionTemplate;
 
     public AuthService(
             UserRepository repo,
             PasswordEncoder pwdEncoder,
             JwtService jwtService,
             UserPublisher userPublisher,
-            EmailVerificationRepository emailVerificationRepository) {
+            EmailVerificationRepository emailVerificationRepository,
+            VerificationTokenService verificationTokens,
+            RegisteredEmailIndex emailIndex,
+            TransactionTemplate transactionTemplate) {
         this.repo = repo;
         this.pwdEncoder = pwdEncoder;
         this.jwtService = jwtService;
         this.userPublisher = userPublisher;
         this.emailVerificationRepository = emailVerificationRepository;
+        this.verificationTokens = verificationTokens;
+        this.emailIndex = emailIndex;
+        this.transactionTemplate = transactionTemplate;
     }
 
     /**
      * Registers a new user in the system.
      * Prevents duplicate emails, hashes passwords for security, and initializes the
      * email
-     * verification process by persisting a verification token and publishing a
+     * verification process by persisting a verification token seed and publishing a
      * verification event.
      * 
      * @param request The registration details containing name, email, and password.
      */
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
     public void register(RegisterRequest request) {
-        repo.findByEmail(request.email())
-                .ifPresent(user -> {
-                    throw new EmailAlreadyInUseException(request.email());
-                });
-
-        User user = repo.save(new User(
-                request.name(),
-                request.email(),
-                pwdEncoder.encode(request.password())));
+        /**
+         * Known emails are turned away without touching the database; anything
+         * else is settled by the unique constraint on insert
+         */
+        if (emailIndex.isRegistered(request.email())) {
+            throw new EmailAlreadyInUseException(request.email());
+        }
 
-        EmailVerification emailVerification = new EmailVerification();
+        String passwordHash = pwdEncoder.encode(request.password());
+        transactionTemplate.executeWithoutResult(status -> createUser(request, passwordHash));
+    }
 
-        String emailToken = pwdEncoder.encode(emailVerification.generateVerificationToken());
-        emailVerification.setTokenHash(emailToken);
-        emailVerification.setUser(user);
+    private void createUser(RegisterRequest request, String passwordHash) {
+        User user;
+        try {
+            user = repo.saveAndFlush(new User(request.name(), request.email(), passwordHash));
+        } catch (DataIntegrityViolationException e) {
+            if (!isUniqueViolation(e)) {
+                throw e;
+            }
+            emailIndex.add(request.email());
+            throw new EmailAlreadyInUseException(request.email());
+        }
+        emailIndex.addAfterCommit(user.getEmail());
 
-        emailVerificationRepository.save(emailVerification);
+        EmailVerification emailVerification = emailVerificationRepository.save(
+                new EmailVerification(user, verificationTokens.newSeed()));
 
         userPublisher
                 .publishUserEmailVerification(UserEmailVerificationEvent.from(
                         user,
-                        emailToken));
+                        verificationTokens.tokenFor(user.getId(), emailVerification.getTokenSeed())));
+    }
+
+    /**
+     * Matched on the SQL state: Hibernate reports PostgreSQL unique violations
+     * with {@code ConstraintKind.OTHER}.
+     */
+    private static boolean isUniqueViolation(DataIntegrityViolationException e) {
+        return e.getCause() instanceof ConstraintViolationException violation
+                && UNIQUE_VIOLATION.equals(violation.getSQLState());
     }
 
     /**
      * Authenticates a user based on credentials.
      * Validates email verification status and password hash.
-     * Upon success, invalidates existing refresh tokens and issues a new pair of
+     * Upon success, replaces any existing refresh token and issues a new pair of
      * access/refresh tokens.
+     * Only the columns needed for the check are read, and the refresh token is
+     * replaced with a single statement. Each runs in its own short transaction,
+     * none of which is open while the password is checked.
      * 
      * @param request The login credentials.
      * @return A LoginResponse containing the new JWT access and refresh tokens.
      */
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
     public LoginResponse login(LoginRequest request) {
-        User user = repo.findByEmail(request.email())
+        LoginCredentials credentials = repo.findLoginCredentialsByEmail(request.email())
                 .orElseThrow(() -> new InvalidCredentialsException());
 
-        if (!user.isEmailVerified()) {
+        if (!credentials.emailVerified()) {
             throw new EmailNotVerifiedException();
         }
 
-        if (!pwdEncoder.matches(request.password(), user.getPassword())) {
+        if (!pwdEncoder.matches(request.password(), credentials.passwordHash())) {
             throw new InvalidCredentialsException();
         }
 
-        /**
-         * Revoke all existing refresh tokens for this user
-         */
-        jwtService.deleteRefreshTokenByUser(user);
-
-        String accessToken = jwtService.generateAccessToken(user);
-        RefreshToken refreshToken = jwtService.createRefreshToken(user);
+        String accessToken = jwtService.generateAccessToken(
+                credentials.id(),
+                credentials.email(),
+                credentials.systemRole(),
+                credentials.emailVerified());
+        String refreshToken = jwtService.createRefreshToken(credentials.id());
 
         return new LoginResponse(
                 accessToken,
-                refreshToken.getToken());
+                refreshToken);
     }
 
-    @CacheEvict(value = "auth:user:profile", key = "#email")
+    @CacheEvict(value = PROFILE_CACHE, key = "#email")
     public void logout(String email, String token) {
         repo.findByEmail(email)
                 .ifPresent(user -> {
@@ -132,7 +181,7 @@ public class AuthService {
                 });
     }
 
-    @Cacheable(value = "auth:user:profile", key = "#email")
+    @Cacheable(value = PROFILE_CACHE, key = "#email")
     public UserResponse getProfile(String email) {
         User user = repo.findByEmail(email)
                 .orElseThrow(() -> new InvalidCredentialsException());
@@ -151,15 +200,10 @@ public class AuthService {
     public TokenRefreshResponse refreshToken(TokenRefreshRequest request) {
         String requestRefreshToken = request.refresh_token();
 
-        return jwtService.findByToken(requestRefreshToken)
-                .map(jwtService::verifyRefreshTokenExpiration)
-                .map(RefreshToken::getUser)
-                .map(user -> {
-                    jwtService.deleteRefreshTokenByUser(user);
-
-                    String accessToken = jwtService.generateAccessToken(user);
-                    String newRefreshToken = jwtService.createRefreshToken(user).getToken();
-                    return new TokenRefreshResponse(accessToken, newRefreshToken);
+        return jwtService.rotateRefreshToken(requestRefreshToken)
+                .map(rotation -> {
+                    String accessToken = jwtService.generateAccessToken(rotation.user());
+                    return new TokenRefreshResponse(accessToken, rotation.refreshToken());
                 })
                 .orElseThrow(() -> new RefreshTokenExpiredException("Refresh token is not in database!"));
     }
@@ -1,20 +1,26 @@
 package com.auvexis.vanguard.modules.auth.application;
 
 import java.time.Instant;
+import java.util.Optional;
 import java.util.UUID;
 
+import org.springframework.cache.CacheManager;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import com.auvexis.vanguard.modules.auth.application.exception.EmailAlreadyVerifiedException;
 import com.auvexis.vanguard.modules.auth.application.exception.EmailNotFoundException;
 import com.auvexis.vanguard.modules.auth.application.exception.EmailVerificationTokenInvalidException;
-import com.auvexis.vanguard.modules.auth.domain.EmailVerification;
 import com.auvexis.vanguard.modules.auth.domain.User;
 import com.auvexis.vanguard.modules.auth.infrastructure.repository.EmailVerificationRepository;
 import com.auvexis.vanguard.modules.auth.infrastructure.repository.UserRepository;
+import com.auvexis.vanguard.modules.auth.infrastructure.security.VerificationTokenService;
 import com.auvexis.vanguard.modules.auth.messaging.UserPublisher;
 import com.auvexis.vanguard.shared.events.UserEmailVerificationEvent;
 
+import jakarta.transaction.Transactional;
+
 /**
  * Service specialized in managing the email verification lifecycle.
  * Handles the validation of verification tokens and the resending of
@@ -26,12 +32,16 @@ public class VerificationService {
     private final UserRepository repo;
     private final EmailVerificationRepository emailVerificationRepository;
     private final UserPublisher userPublisher;
+    private final CacheManager cacheManager;
+    private final VerificationTokenService verificationTokens;
 
     public VerificationService(UserRepository repo, EmailVerificationRepository emailVerificationRepository,
-            UserPublisher userPublisher) {
+            UserPublisher userPublisher, CacheManager cacheManager, VerificationTokenService verificationTokens) {
         this.repo = repo;
         this.emailVerificationRepository = emailVerificationRepository;
         this.userPublisher = userPublisher;
+        this.cacheManager = cacheManager;
+        this.verificationTokens = verificationTokens;
     }
 
     /**
@@ -40,10 +50,13 @@ public class VerificationService {
      * verification timestamp.
      * 
      * @param userID     The ID of the user attempting verification.
-     * @param emailToken The verification token hash.
+     * @param emailToken The verification token from the email.
      */
+    @Transactional
     public void verifyEmail(UUID userID, String emailToken) {
-        emailVerificationRepository.findByTokenHashAndUserId(emailToken, userID)
+        emailVerificationRepository.findByUserId(userID)
+                .filter(emailVerification -> verificationTokens.matches(
+                        userID, emailVerification.getTokenSeed(), emailToken))
                 .map(emailVerification -> {
                     User user = emailVerification.getUser();
                     user.setEmailVerified(true);
@@ -51,11 +64,40 @@ public class VerificationService {
                     emailVerification.setVerifiedAt(Instant.now());
                     emailVerificationRepository.save(emailVerification);
 
+                    /**
+                     * The cached profile still reports the email as unverified
+                     */
+                    evictProfileAfterCommit(user.getEmail());
+
                     return emailVerification;
                 })
                 .orElseThrow(() -> new EmailVerificationTokenInvalidException());
     }
 
+    /**
+     * Evicts the cached profile once the current transaction commits, or right
+     * away when there is none. Evicting earlier lets a concurrent read cache
+     * the profile again from the uncommitted, still unverified row.
+     */
+    private void evictProfileAfterCommit(String email) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evictProfile(email);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evictProfile(email);
+            }
+        });
+    }
+
+    private void evictProfile(String email) {
+        Optional.ofNullable(cacheManager.getCache(AuthService.PROFILE_CACHE))
+                .ifPresent(cache -> cache.evict(email));
+    }
+
     public void resendVerificationEmail(String email) {
         User user = repo.findByEmail(email)
                 .orElseThrow(() -> new EmailNotFoundException(email));
@@ -65,7 +107,7 @@ public class VerificationService {
         }
 
         String token = emailVerificationRepository.findByUserId(user.getId())
-                .map(EmailVerification::getTokenHash)
+                .map(emailVerification -> verificationTokens.tokenFor(user.getId(), emailVerification.getTokenSeed()))
                 .orElseThrow(() -> new EmailVerificationTokenInvalidException());
 
         userPublisher.publishUserEmailVerificationResend(UserEmailVerificationEvent.from(user, token));
@@ -0,0 +1,15 @@
+package com.auvexis.vanguard.modules.auth.application.exception;
+
+public class PasswordHashingUnavailableException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public PasswordHashingUnavailableException(long retryAfterSeconds) {
+        super("Service is busy, please retry later");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
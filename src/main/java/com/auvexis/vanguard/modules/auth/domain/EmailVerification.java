@@ -1,7 +1,6 @@
 package com.auvexis.vanguard.modules.auth.domain;
 
 import java.time.Instant;
-import java.util.Random;
 import java.util.UUID;
 
 import org.springframework.data.annotation.CreatedDate;
@@ -30,8 +29,8 @@ public class EmailVerification {
     @JoinColumn(name = "user_id", referencedColumnName = "id")
     private User user;
 
-    @Column(name = "token_hash", nullable = false, unique = true)
-    private String tokenHash;
+    @Column(name = "token_seed", nullable = false)
+    private String tokenSeed;
 
     @Column(name = "verified_at", nullable = true)
     private Instant verifiedAt;
@@ -43,21 +42,9 @@ public class EmailVerification {
     public EmailVerification() {
     }
 
-    public EmailVerification(User user, String tokenHash) {
+    public EmailVerification(User user, String tokenSeed) {
         this.user = user;
-        this.tokenHash = tokenHash;
-    }
-
-    public String generateVerificationToken() {
-        String chars = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789";
-        String token = "";
-
-        Random rdm = new Random();
-        for (int i = 0; i < 6; i++) {
-            token += chars.charAt(rdm.nextInt(chars.length()));
-        }
-
-        return token;
+        this.tokenSeed = tokenSeed;
     }
 
     public UUID getId() {
@@ -76,12 +63,12 @@ public class EmailVerification {
         this.user = user;
     }
 
-    public String getTokenHash() {
-        return tokenHash;
+    public String getTokenSeed() {
+        return tokenSeed;
     }
 
-    public void setTokenHash(String tokenHash) {
-        this.tokenHash = tokenHash;
+    public void setTokenSeed(String tokenSeed) {
+        this.tokenSeed = tokenSeed;
     }
 
     public Instant getVerifiedAt() {
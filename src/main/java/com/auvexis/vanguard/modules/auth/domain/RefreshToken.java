@@ -20,7 +20,11 @@ public class RefreshToken {
     @GeneratedValue(strategy = GenerationType.UUID)
     private UUID id;
 
-    @Column(nullable = false, unique = true)
+    /**
+     * Random UUID, indexed but not constrained unique: the table is
+     * partitioned by expiry date (see V6__partition_refresh_tokens.sql)
+     */
+    @Column(nullable = false)
     private String token;
 
     @OneToOne
@@ -0,0 +1,200 @@
+package com.auvexis.vanguard.modules.auth.infrastructure.cache;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.lang.NonNull;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.auvexis.vanguard.modules.auth.infrastructure.repository.UserRepository;
+
+/**
+ * Redis set of every registered email, so registration can turn away known
+ * addresses without a database round-trip.
+ *
+ * The set is only a fast path: a miss, or Redis being unavailable, falls
+ * through to the insert, and the unique constraint on {@code users.email}
+ * remains the source of truth. Emails are added once their registration
+ * commits and removed when the cleanup job deletes their account. The set is
+ * built on startup when missing and rebuilt periodically to drop any drift.
+ *
+ * Removals are also recorded as tombstones for the length of a rebuild, and
+ * the rebuild drops them from its staging set before swapping it in, so an
+ * account deleted after its page was read does not come back. Emails
+ * registered during a rebuild may be missing until the next one, which only
+ * costs a database round-trip.
+ *
+ * All keys share a hash tag so the swap script also runs on Redis Cluster.
+ */
+@Component
+public class RegisteredEmailIndex {
+
+    public static final String KEY = "auth:users:{emails}";
+
+    private static final String REBUILD_KEY = KEY + ":rebuild";
+    private static final String REMOVED_KEY = KEY + ":removed";
+    private static final String LOCK_KEY = KEY + ":lock";
+
+    private static final Logger log = LoggerFactory.getLogger(RegisteredEmailIndex.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final UserRepository userRepository;
+    private final int pageSize;
+    private final Duration lockTtl;
+
+    private final RedisScript<Long> swapScript = RedisScript.of(
+            new ClassPathResource("redis/email-index-swap.lua"), Long.class);
+
+    public RegisteredEmailIndex(
+            StringRedisTemplate redisTemplate,
+            UserRepository userRepository,
+            @Value("${auth.email-index.page-size:5000}") int pageSize,
+            @Value("${auth.email-index.lock-ttl-ms:600000}") long lockTtlMs) {
+        this.redisTemplate = redisTemplate;
+        this.userRepository = userRepository;
+        this.pageSize = pageSize;
+        this.lockTtl = Duration.ofMillis(lockTtlMs);
+    }
+
+    /**
+     * @return true if the email is known to be registered; false if it is not,
+     *         or if that cannot be told without the database.
+     */
+    public boolean isRegistered(String email) {
+        try {
+            return Boolean.TRUE.equals(redisTemplate.opsForSet().isMember(KEY, email));
+        } catch (DataAccessException e) {
+            log.warn("Email index unavailable, falling back to the database: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Adds an email once the current transaction commits, or right away when
+     * there is none.
+     */
+    public void addAfterCommit(String email) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            add(email);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                add(email);
+            }
+        });
+    }
+
+    public void add(String email) {
+        try {
+            redisTemplate.opsForSet().add(KEY, email);
+        } catch (DataAccessException e) {
+            log.warn("Could not add email to the index: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Removes emails from the index. Tombstones are written before the live
+     * set is touched, so a rebuild swapped in at any point either drops the
+     * emails itself or is followed by their removal.
+     */
+    public void removeAll(Collection<String> emails) {
+        if (emails.isEmpty()) {
+            return;
+        }
+
+        String[] members = emails.toArray(String[]::new);
+        try {
+            redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public <K, V> Object execute(@NonNull RedisOperations<K, V> operations) {
+                    RedisOperations<String, String> ops = (RedisOperations<String, String>) operations;
+                    ops.opsForSet().add(REMOVED_KEY, members);
+                    ops.expire(REMOVED_KEY, lockTtl);
+                    ops.opsForSet().remove(KEY, (Object[]) members);
+                    return null;
+                }
+            });
+        } catch (DataAccessException e) {
+            log.warn("Could not remove {} emails from the index: {}", emails.size(), e.getMessage());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildIfMissing() {
+        try {
+            if (!Boolean.TRUE.equals(redisTemplate.hasKey(KEY))) {
+                rebuild();
+            }
+        } catch (DataAccessException e) {
+            log.warn("Could not check the email index: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Reloads every email from the database into a staging set in keyset-paged
+     * batches and swaps it in, minus the emails deleted meanwhile. Only one
+     * node rebuilds at a time.
+     */
+    @Scheduled(cron = "${auth.email-index.rebuild-cron:0 30 3 * * ?}", zone = "UTC")
+    public void rebuild() {
+        String owner = UUID.randomUUID().toString();
+
+        try {
+            if (!Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(LOCK_KEY, owner, lockTtl))) {
+                return;
+            }
+
+            redisTemplate.delete(List.of(REBUILD_KEY, REMOVED_KEY));
+
+            long total = 0;
+            String after = "";
+            List<String> page;
+            do {
+                page = userRepository.findEmailsAfter(after, PageRequest.ofSize(pageSize));
+                if (!page.isEmpty()) {
+                    redisTemplate.opsForSet().add(REBUILD_KEY, page.toArray(String[]::new));
+                    after = page.get(page.size() - 1);
+                    total += page.size();
+                }
+            } while (page.size() == pageSize);
+
+            Long size = redisTemplate.execute(swapScript, List.of(KEY, REBUILD_KEY, REMOVED_KEY));
+            log.info("Rebuilt email index with {} of {} emails read", size, total);
+        } catch (DataAccessException e) {
+            log.warn("Could not rebuild the email index: {}", e.getMessage());
+        } finally {
+            releaseLock(owner);
+        }
+    }
+
+    private void releaseLock(String owner) {
+        try {
+            if (owner.equals(redisTemplate.opsForValue().get(LOCK_KEY))) {
+                redisTemplate.delete(LOCK_KEY);
+            }
+        } catch (DataAccessException e) {
+            log.warn("Could not release the email index lock: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.auvexis.vanguard.modules.auth.infrastructure.cache;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+import org.springframework.stereotype.Component;
+
+import com.auvexis.vanguard.modules.auth.domain.SystemRole;
+import com.auvexis.vanguard.modules.auth.web.dtos.UserResponse;
+import com.auvexis.vanguard.shared.infrastructure.redis.RedisValueCodec;
+
+/**
+ * Binary layout of cached user profiles.
+ * Changing the fields of {@link UserResponse} requires a new type id.
+ */
+@Component
+public class UserResponseCodec implements RedisValueCodec<UserResponse> {
+
+    public static final int TYPE_ID = 32;
+
+    @Override
+    public int typeId() {
+        return TYPE_ID;
+    }
+
+    @Override
+    public Class<UserResponse> type() {
+        return UserResponse.class;
+    }
+
+    @Override
+    public void write(UserResponse value, DataOutput out) throws IOException {
+        RedisValueCodec.writeUuid(out, value.id());
+        RedisValueCodec.writeString(out, value.name());
+        RedisValueCodec.writeString(out, value.email());
+        RedisValueCodec.writeString(out, value.role() != null ? value.role().name() : null);
+        out.writeBoolean(value.email_verified());
+        RedisValueCodec.writeInstant(out, value.created_at());
+        RedisValueCodec.writeInstant(out, value.updated_at());
+    }
+
+    @Override
+    public UserResponse read(DataInput in) throws IOException {
+        return new UserResponse(
+                RedisValueCodec.readUuid(in),
+                RedisValueCodec.readString(in),
+                RedisValueCodec.readString(in),
+                roleOf(RedisValueCodec.readString(in)),
+                in.readBoolean(),
+                RedisValueCodec.readInstant(in),
+                RedisValueCodec.readInstant(in));
+    }
+
+    private static SystemRole roleOf(String name) {
+        return name != null ? SystemRole.valueOf(name) : null;
+    }
+}
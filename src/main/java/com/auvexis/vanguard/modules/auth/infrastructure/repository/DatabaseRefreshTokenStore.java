@@ -0,0 +1,67 @@
+package com.auvexis.vanguard.modules.auth.infrastructure.repository;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.auvexis.vanguard.modules.auth.application.exception.RefreshTokenExpiredException;
+import com.auvexis.vanguard.modules.auth.domain.SystemRole;
+import com.auvexis.vanguard.modules.auth.domain.User;
+
+/**
+ * Default refresh token store backed by the {@code auth.refresh_tokens} table.
+ * Rotating a token takes a single statement; issuing one takes two, the
+ * first serializing concurrent logins of the same user so that only one
+ * token survives.
+ */
+@Component
+@ConditionalOnProperty(name = "auth.refresh-token.store", havingValue = "database", matchIfMissing = true)
+public class DatabaseRefreshTokenStore implements RefreshTokenStore {
+
+    private final RefreshTokenRepository refreshTokenRepository;
+
+    public DatabaseRefreshTokenStore(RefreshTokenRepository refreshTokenRepository) {
+        this.refreshTokenRepository = refreshTokenRepository;
+    }
+
+    @Override
+    @Transactional
+    public void create(UUID userId, String token, Duration ttl) {
+        refreshTokenRepository.lockForUser(userId);
+        refreshTokenRepository.replaceForUser(userId, token, Instant.now().plus(ttl));
+    }
+
+    @Override
+    @Transactional
+    public Optional<RefreshTokenRotation> rotate(String currentToken, String newToken, Duration ttl) {
+        try {
+            return refreshTokenRepository.rotate(currentToken, newToken, Instant.now().plus(ttl))
+                    .map(rotated -> new RefreshTokenRotation(
+                            new UserClaims(
+                                    rotated.getId(),
+                                    rotated.getEmail(),
+                                    SystemRole.valueOf(rotated.getSystemRole()),
+                                    rotated.getEmailVerified()),
+                            newToken));
+        } catch (ConcurrencyFailureException e) {
+            /**
+             * A concurrent rotation of the same token moved the row to another
+             * partition first. The transaction is aborted either way, so fail
+             * the same way as for a token that is no longer current.
+             */
+            throw new RefreshTokenExpiredException("Refresh token was already rotated");
+        }
+    }
+
+    @Override
+    @Transactional
+    public void revokeAll(User user) {
+        refreshTokenRepository.deleteAllByUserId(user.getId());
+    }
+}
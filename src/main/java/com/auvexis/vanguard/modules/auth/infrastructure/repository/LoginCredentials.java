@@ -0,0 +1,17 @@
+package com.auvexis.vanguard.modules.auth.infrastructure.repository;
+
+import java.util.UUID;
+
+import com.auvexis.vanguard.modules.auth.domain.SystemRole;
+
+/**
+ * The columns of a user needed to check a login and mint its tokens, read
+ * without loading the full {@code User} entity.
+ */
+public record LoginCredentials(
+        UUID id,
+        String email,
+        String passwordHash,
+        SystemRole systemRole,
+        boolean emailVerified) {
+}
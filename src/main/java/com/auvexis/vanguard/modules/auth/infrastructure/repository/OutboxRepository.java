@@ -0,0 +1,24 @@
+package com.auvexis.vanguard.modules.auth.infrastructure.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.auvexis.vanguard.modules.auth.domain.OutboxMessage;
+
+public interface OutboxRepository extends JpaRepository<OutboxMessage, Long> {
+
+    /**
+     * Locks the oldest pending messages. Rows locked by another relay are
+     * skipped, so several nodes can drain the outbox concurrently.
+     */
+    @Query(value = """
+            SELECT * FROM auth.outbox
+            ORDER BY id
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<OutboxMessage> lockNextBatch(@Param("limit") int limit);
+}
@@ -0,0 +1,105 @@
+package com.auvexis.vanguard.modules.auth.infrastructure.repository;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import com.auvexis.vanguard.modules.auth.domain.User;
+
+/**
+ * Refresh token store backed by Redis, keeping short-lived session data off
+ * the primary database. Tokens expire through native Redis TTLs, and every
+ * multi-key change runs as a Lua script so issuing, rotating and revoking are
+ * atomic even under concurrent refreshes.
+ *
+ * Every key a script touches is passed in KEYS. Keys named by a stored value
+ * (the user's current token, a token's owner) are read first, and the script
+ * only touches them if that value is still the same. The user key alone
+ * decides which token is valid, so an old token key missed this way is just
+ * left to expire.
+ *
+ * Layout:
+ * - {@code auth:refresh:token:<token>} holds the owner's user id.
+ * - {@code auth:refresh:user:<userId>} holds the user's current token.
+ */
+@Component
+@ConditionalOnProperty(name = "auth.refresh-token.store", havingValue = "redis")
+public class RedisRefreshTokenStore implements RefreshTokenStore {
+
+    public static final String TOKEN_PREFIX = "auth:refresh:token:";
+    public static final String USER_PREFIX = "auth:refresh:user:";
+
+    private final StringRedisTemplate redisTemplate;
+    private final UserRepository userRepository;
+
+    private final RedisScript<Long> createScript = script("redis/refresh-token-create.lua", Long.class);
+    private final RedisScript<String> rotateScript = script("redis/refresh-token-rotate.lua", String.class);
+    private final RedisScript<Long> revokeScript = script("redis/refresh-token-revoke.lua", Long.class);
+
+    public RedisRefreshTokenStore(StringRedisTemplate redisTemplate, UserRepository userRepository) {
+        this.redisTemplate = redisTemplate;
+        this.userRepository = userRepository;
+    }
+
+    @Override
+    public void create(UUID userId, String token, Duration ttl) {
+        String userKey = USER_PREFIX + userId;
+        String previous = redisTemplate.opsForValue().get(userKey);
+
+        redisTemplate.execute(
+                createScript,
+                previous != null
+                        ? List.of(userKey, TOKEN_PREFIX + token, TOKEN_PREFIX + previous)
+                        : List.of(userKey, TOKEN_PREFIX + token),
+                previous != null ? previous : "",
+                token,
+                userId.toString(),
+                String.valueOf(ttl.toMillis()));
+    }
+
+    @Override
+    public Optional<RefreshTokenRotation> rotate(String currentToken, String newToken, Duration ttl) {
+        String currentKey = TOKEN_PREFIX + currentToken;
+        String owner = redisTemplate.opsForValue().get(currentKey);
+        if (owner == null) {
+            return Optional.empty();
+        }
+
+        String userId = redisTemplate.execute(
+                rotateScript,
+                List.of(currentKey, TOKEN_PREFIX + newToken, USER_PREFIX + owner),
+                owner,
+                currentToken,
+                newToken,
+                String.valueOf(ttl.toMillis()));
+
+        if (userId == null) {
+            return Optional.empty();
+        }
+
+        return userRepository.findClaimsById(UUID.fromString(userId))
+                .map(user -> new RefreshTokenRotation(user, newToken));
+    }
+
+    @Override
+    public void revokeAll(User user) {
+        String userKey = USER_PREFIX + user.getId();
+        String token = redisTemplate.opsForValue().get(userKey);
+        if (token == null) {
+            return;
+        }
+
+        redisTemplate.execute(revokeScript, List.of(userKey, TOKEN_PREFIX + token), token);
+    }
+
+    private static <T> RedisScript<T> script(String path, Class<T> resultType) {
+        return RedisScript.of(new ClassPathResource(path), resultType);
+    }
+}
@@ -1,17 +1,89 @@
 package com.auvexis.vanguard.modules.auth.infrastructure.repository;
 
+import java.time.Instant;
 import java.util.Optional;
 import java.util.UUID;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.auvexis.vanguard.modules.auth.domain.RefreshToken;
-import com.auvexis.vanguard.modules.auth.domain.User;
+
+import jakarta.transaction.Transactional;
 
 @Repository
 public interface RefreshTokenRepository extends JpaRepository<RefreshToken, UUID> {
-    Optional<RefreshToken> findByToken(String token);
 
-    int deleteByUser(User user);
+    /**
+     * Swaps a current, unexpired token for a new one and returns the owner's
+     * token claims, in one statement. If two requests rotate the same token
+     * concurrently, only the first one matches; the other finds no current
+     * token, or fails with a serialization error when the row moved to another
+     * partition.
+     */
+    @Transactional
+    @Query(value = """
+            WITH rotated AS (
+                UPDATE auth.refresh_tokens
+                SET token = :newToken, expiry_date = :expiryDate
+                WHERE token = :currentToken AND expiry_date > now()
+                RETURNING user_id)
+            SELECT u.id AS "id", u.email AS "email", u.system_role AS "systemRole",
+                   u.email_verified AS "emailVerified"
+            FROM rotated r
+            JOIN auth.users u ON u.id = r.user_id
+            """, nativeQuery = true)
+    Optional<RotatedRefreshToken> rotate(
+            @Param("currentToken") String currentToken,
+            @Param("newToken") String newToken,
+            @Param("expiryDate") Instant expiryDate);
+
+    @Modifying
+    @Query("DELETE FROM RefreshToken t WHERE t.user.id = :userId")
+    int deleteAllByUserId(@Param("userId") UUID userId);
+
+    /**
+     * Takes a transaction-scoped advisory lock on the user's refresh tokens,
+     * serializing {@link #replaceForUser} calls for the same user. It has to
+     * be a statement of its own: under READ COMMITTED a statement only sees
+     * rows committed before it started, so a lock taken inside the replacing
+     * statement would still miss the token a concurrent login just inserted.
+     */
+    @Query(value = "SELECT 1 FROM pg_advisory_xact_lock(hashtext(CAST(:userId AS text)))", nativeQuery = true)
+    Integer lockForUser(@Param("userId") UUID userId);
+
+    /**
+     * Replaces every refresh token of the user with a new one in a single
+     * statement. The table is partitioned by expiry date, so {@code user_id}
+     * cannot carry the unique constraint an {@code ON CONFLICT} upsert needs;
+     * a data-modifying CTE gives the same single round-trip.
+     *
+     * On its own this does not keep one token per user: two concurrent calls
+     * each delete what they see and both insert. Call {@link #lockForUser}
+     * first in the same transaction.
+     */
+    @Modifying
+    @Query(value = """
+            WITH revoked AS (
+                DELETE FROM auth.refresh_tokens WHERE user_id = :userId)
+            INSERT INTO auth.refresh_tokens (id, token, user_id, expiry_date)
+            VALUES (gen_random_uuid(), :token, :userId, :expiryDate)
+            """, nativeQuery = true)
+    int replaceForUser(
+            @Param("userId") UUID userId,
+            @Param("token") String token,
+            @Param("expiryDate") Instant expiryDate);
+
+    interface RotatedRefreshToken {
+        UUID getId();
+
+        String getEmail();
+
+        String getSystemRole();
+
+        boolean getEmailVerified();
+    }
 }
@@ -0,0 +1,46 @@
+package com.auvexis.vanguard.modules.auth.infrastructure.repository;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+import com.auvexis.vanguard.modules.auth.domain.User;
+
+/**
+ * Persistence for opaque refresh tokens.
+ * Each user holds at most one refresh token: issuing or rotating a token
+ * always replaces the previous one.
+ *
+ * The implementation is selected with {@code auth.refresh-token.store}:
+ * {@code database} (default) or {@code redis}.
+ */
+public interface RefreshTokenStore {
+
+    /**
+     * Stores a new refresh token for the user, replacing any existing one.
+     *
+     * @param userId The owner of the token.
+     * @param token  The new opaque token.
+     * @param ttl    How long the token stays valid.
+     */
+    void create(UUID userId, String token, Duration ttl);
+
+    /**
+     * Atomically swaps a current, unexpired token for a new one.
+     *
+     * @param currentToken The token presented by the client.
+     * @param newToken     The token that replaces it.
+     * @param ttl          How long the new token stays valid.
+     * @return The owner and the new token, or empty if the presented token is
+     *         unknown or no longer current.
+     */
+    Optional<RefreshTokenRotation> rotate(String currentToken, String newToken, Duration ttl);
+
+    /**
+     * Revokes every refresh token of the user.
+     */
+    void revokeAll(User user);
+
+    record RefreshTokenRotation(UserClaims user, String refreshToken) {
+    }
+}
@@ -0,0 +1,15 @@
+package com.auvexis.vanguard.modules.auth.infrastructure.repository;
+
+import java.util.UUID;
+
+import com.auvexis.vanguard.modules.auth.domain.SystemRole;
+
+/**
+ * The columns of a user carried as access token claims.
+ */
+public record UserClaims(
+        UUID id,
+        String email,
+        SystemRole systemRole,
+        boolean emailVerified) {
+}
@@ -1,11 +1,12 @@
 package com.auvexis.vanguard.modules.auth.infrastructure.repository;
 
 import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -17,9 +18,46 @@ public interface UserRepository extends JpaRepository<User, UUID> {
 
     Optional<User> findByEmail(String email);
 
-    @Modifying
+    @Query("""
+            SELECT new com.auvexis.vanguard.modules.auth.infrastructure.repository.LoginCredentials(
+                u.id, u.email, u.password, u.systemRole, u.emailVerified)
+            FROM User u
+            WHERE u.email = :email
+            """)
+    Optional<LoginCredentials> findLoginCredentialsByEmail(@Param("email") String email);
+
+    @Query("""
+            SELECT new com.auvexis.vanguard.modules.auth.infrastructure.repository.UserClaims(
+                u.id, u.email, u.systemRole, u.emailVerified)
+            FROM User u
+            WHERE u.id = :id
+            """)
+    Optional<UserClaims> findClaimsById(@Param("id") UUID id);
+
+    /**
+     * Reads registered emails in email order, starting after the given one.
+     */
+    @Query("SELECT u.email FROM User u WHERE u.email > :after ORDER BY u.email")
+    List<String> findEmailsAfter(@Param("after") String after, Pageable pageable);
+
+    /**
+     * Deletes up to {@code batchSize} of the oldest accounts that never verified
+     * their email. Rows locked by another node are skipped, so concurrent
+     * cleanups split the work instead of waiting on each other.
+     *
+     * @return The emails of the deleted accounts.
+     */
     @Transactional
-    @Query("DELETE FROM User u WHERE u.createdAt < :limit")
-    int deleteUsersOlderThan(@Param("limit") Instant limit);
+    @Query(value = """
+            DELETE FROM auth.users
+            WHERE id = ANY(ARRAY(
+                SELECT id FROM auth.users
+                WHERE NOT email_verified AND created_at < :limit
+                ORDER BY created_at
+                LIMIT :batchSize
+                FOR UPDATE SKIP LOCKED))
+            RETURNING email
+            """, nativeQuery = true)
+    List<String> deleteUnverifiedUsersCreatedBefore(@Param("limit") Instant limit, @Param("batchSize") int batchSize);
 
 }
@@ -0,0 +1,100 @@
+package com.auvexis.vanguard.modules.auth.infrastructure.security;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Cluster-wide token buckets stored in Redis, so a limit holds across all
+ * replicas instead of being multiplied by their number.
+ *
+ * Each bucket is updated atomically by a Lua script using the Redis clock.
+ * When a route allows leasing, a node takes a small batch of tokens at once
+ * and hands them out locally until they run out or the lease expires, so only
+ * one request per batch pays for the Redis round-trip. Unused leased tokens are
+ * simply dropped, which can only make the limit stricter, never looser.
+ */
+@Component
+public class DistributedRateLimiter {
+
+    public static final String KEY_PREFIX = "auth:ratelimit:";
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisScript<Long> script;
+    private final RateLimitBucketStore<TokenLease> leases;
+    private final long leaseTtlNanos;
+
+    public DistributedRateLimiter(
+            StringRedisTemplate redisTemplate,
+            @Value("${auth.rate-limit.max-entries:100000}") int maxEntries,
+            @Value("${auth.rate-limit.stripes:16}") int stripes,
+            @Value("${auth.rate-limit.lease-ttl-ms:1000}") long leaseTtlMs) {
+        this.redisTemplate = redisTemplate;
+        this.script = RedisScript.of(new ClassPathResource("redis/rate-limit.lua"), Long.class);
+        this.leaseTtlNanos = Duration.ofMillis(leaseTtlMs).toNanos();
+        this.leases = new RateLimitBucketStore<>(maxEntries, stripes, leaseTtlNanos);
+    }
+
+    /**
+     * @param localKey  Packed client/route key used for the local lease.
+     * @param bucketKey Client/route suffix of the shared Redis bucket key.
+     * @param rateLimit The limits of the route.
+     * @return true if a token was granted.
+     */
+    public boolean tryConsume(long localKey, String bucketKey, RateLimit rateLimit) {
+        if (rateLimit.leaseTokens() <= 1) {
+            return acquire(bucketKey, rateLimit, 1) > 0;
+        }
+
+        TokenLease lease = leases.getOrCreate(localKey, TokenLease::new);
+        synchronized (lease) {
+            long now = System.nanoTime();
+            if (lease.remaining > 0 && now < lease.expiresAt) {
+                lease.remaining--;
+                return true;
+            }
+
+            long granted = acquire(bucketKey, rateLimit, rateLimit.leaseTokens());
+            if (granted <= 0) {
+                lease.remaining = 0;
+                return false;
+            }
+
+            lease.remaining = granted - 1;
+            lease.expiresAt = now + leaseTtlNanos;
+            return true;
+        }
+    }
+
+    int leaseCount() {
+        return leases.size();
+    }
+
+    @Scheduled(fixedDelayString = "${auth.rate-limit.sweep-interval-ms:60000}")
+    public void evictExpiredLeases() {
+        leases.evictIdle();
+    }
+
+    private long acquire(String bucketKey, RateLimit rateLimit, long tokens) {
+        Long granted = redisTemplate.execute(
+                script,
+                List.of(KEY_PREFIX + bucketKey),
+                String.valueOf(rateLimit.capacity()),
+                String.valueOf(rateLimit.refillTokens()),
+                String.valueOf(Duration.ofMinutes(rateLimit.refillDurationInMinutes()).toMillis()),
+                String.valueOf(tokens));
+        return granted != null ? granted : 0;
+    }
+
+    private static final class TokenLease {
+        private long remaining;
+        private long expiresAt;
+    }
+}
@@ -1,15 +1,20 @@
 package com.auvexis.vanguard.modules.auth.infrastructure.security;
 
 import java.io.IOException;
-import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
 
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import com.auvexis.vanguard.modules.auth.domain.SystemRole;
+import com.auvexis.vanguard.shared.infrastructure.jwt.JwtPrincipal;
 import com.auvexis.vanguard.shared.infrastructure.jwt.JwtService;
 
 import jakarta.servlet.FilterChain;
@@ -20,6 +25,18 @@ import jakarta.servlet.http.HttpServletResponse;
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    /**
+     * Authorities are immutable and identical for every user of a role, so they
+     * are built once instead of on every authenticated request.
+     */
+    private static final Map<SystemRole, List<GrantedAuthority>> ROLE_AUTHORITIES = new EnumMap<>(SystemRole.class);
+
+    static {
+        for (SystemRole role : SystemRole.values()) {
+            ROLE_AUTHORITIES.put(role, List.of(new SimpleGrantedAuthority("ROLE_" + role.name())));
+        }
+    }
+
     private final JwtService jwtService;
 
     public JwtAuthenticationFilter(JwtService jwtService) {
@@ -34,30 +51,34 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             throws ServletException, IOException {
         String authHeader = request.getHeader("Authorization");
 
-        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+        if (authHeader != null && authHeader.startsWith("Bearer ")
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
             String token = authHeader.substring(7);
 
-            try {
-                if (jwtService.isTokenBlacklisted(token)) {
-                    filterChain.doFilter(request, response);
-                    return;
-                }
-            } catch (Exception e) {
-                // Log and continue if Redis is down/fails (fail-open for blacklisting is safer
-                // for availability)
-                logger.error("Error checking token blacklist: " + e.getMessage());
-            }
+            /**
+             * Verify the signature first: it is a local check, so forged or expired
+             * tokens never cost a blacklist lookup.
+             */
+            JwtPrincipal principal = jwtService.parseAccessToken(token);
 
-            String email = jwtService.getEmailFromToken(token);
-            String role = jwtService.getRoleFromToken(token);
-
-            if (email != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+            if (principal != null && !isBlacklisted(principal)) {
                 UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
-                        email, null, Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role)));
+                        principal, null, ROLE_AUTHORITIES.get(principal.role()));
                 SecurityContextHolder.getContext().setAuthentication(authentication);
             }
         }
 
         filterChain.doFilter(request, response);
     }
+
+    private boolean isBlacklisted(JwtPrincipal principal) {
+        try {
+            return jwtService.isTokenBlacklisted(principal);
+        } catch (Exception e) {
+            // Log and continue if Redis is down/fails (fail-open for blacklisting is safer
+            // for availability)
+            logger.error("Error checking token blacklist: " + e.getMessage());
+            return false;
+        }
+    }
 }
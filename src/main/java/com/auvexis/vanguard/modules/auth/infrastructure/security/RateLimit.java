@@ -25,4 +25,22 @@ public @interface RateLimit {
      * The duration of the refill in minutes.
      */
     int refillDurationInMinutes() default 1;
+
+    /**
+     * Where the bucket lives: in this JVM, or in Redis shared by every replica.
+     */
+    Mode mode() default Mode.LOCAL;
+
+    /**
+     * Number of tokens a node takes from the shared bucket at once in
+     * DISTRIBUTED mode. Values above 1 let most requests skip the Redis
+     * round-trip, at the cost of tokens being pinned to one node for a short
+     * while.
+     */
+    long leaseTokens() default 1;
+
+    enum Mode {
+        LOCAL,
+        DISTRIBUTED
+    }
 }
@@ -0,0 +1,134 @@
+package com.auvexis.vanguard.modules.auth.infrastructure.security;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Bounded in-memory store for rate limit state (buckets or token leases).
+ * Keys are packed into a single long (client address + route id) and spread
+ * across independently locked LRU stripes, so hot keys do not contend on one
+ * lock and the total number of entries can never exceed the configured cap.
+ * Entries idle for longer than the expiry are dropped by {@link #evictIdle()}.
+ */
+final class RateLimitBucketStore<T> {
+
+    static final int MAX_ROUTE_ID = 0xffff;
+
+    private final Stripe<T>[] stripes;
+    private final int stripeMask;
+    private final long idleExpiryNanos;
+
+    private final LongAdder sizeEvictions = new LongAdder();
+    private final LongAdder idleEvictions = new LongAdder();
+
+    @SuppressWarnings("unchecked")
+    RateLimitBucketStore(int maxEntries, int stripeCount, long idleExpiryNanos) {
+        int count = Integer.highestOneBit(Math.max(1, stripeCount));
+        int maxPerStripe = Math.max(1, maxEntries / count);
+
+        this.stripes = (Stripe<T>[]) new Stripe<?>[count];
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new Stripe<>(maxPerStripe, sizeEvictions);
+        }
+        this.stripeMask = count - 1;
+        this.idleExpiryNanos = idleExpiryNanos;
+    }
+
+    /**
+     * Packs a 48-bit client address key and a route id into one store key.
+     */
+    static long key(long addressKey, int routeId) {
+        return (addressKey << 16) | (routeId & MAX_ROUTE_ID);
+    }
+
+    T getOrCreate(long key, Supplier<T> factory) {
+        Stripe<T> stripe = stripeFor(key);
+        long now = System.nanoTime();
+
+        synchronized (stripe) {
+            Entry<T> entry = stripe.get(key);
+            if (entry == null || now - entry.lastAccess > idleExpiryNanos) {
+                entry = new Entry<>(factory.get());
+                stripe.put(key, entry);
+            }
+            entry.lastAccess = now;
+            return entry.value;
+        }
+    }
+
+    /**
+     * Removes every entry that has not been accessed within the idle expiry.
+     * Stripes are access-ordered, so each scan stops at the first live entry.
+     */
+    void evictIdle() {
+        long now = System.nanoTime();
+
+        for (Stripe<T> stripe : stripes) {
+            synchronized (stripe) {
+                Iterator<Entry<T>> iterator = stripe.values().iterator();
+                while (iterator.hasNext()) {
+                    if (now - iterator.next().lastAccess <= idleExpiryNanos) {
+                        break;
+                    }
+                    iterator.remove();
+                    idleEvictions.increment();
+                }
+            }
+        }
+    }
+
+    int size() {
+        int size = 0;
+        for (Stripe<T> stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.size();
+            }
+        }
+        return size;
+    }
+
+    long sizeEvictions() {
+        return sizeEvictions.sum();
+    }
+
+    long idleEvictions() {
+        return idleEvictions.sum();
+    }
+
+    private Stripe<T> stripeFor(long key) {
+        long h = key * 0x9e3779b97f4a7c15L;
+        return stripes[(int) (h >>> 32) & stripeMask];
+    }
+
+    private static final class Entry<T> {
+        private final T value;
+        private long lastAccess;
+
+        private Entry(T value) {
+            this.value = value;
+        }
+    }
+
+    private static final class Stripe<T> extends LinkedHashMap<Long, Entry<T>> {
+        private final int maxEntries;
+        private final LongAdder evictions;
+
+        private Stripe(int maxEntries, LongAdder evictions) {
+            super(16, 0.75f, true);
+            this.maxEntries = maxEntries;
+            this.evictions = evictions;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Entry<T>> eldest) {
+            if (size() > maxEntries) {
+                evictions.increment();
+                return true;
+            }
+            return false;
+        }
+    }
+}
@@ -1,29 +1,85 @@
 package com.auvexis.vanguard.modules.auth.infrastructure.security;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.RequestPath;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Component;
+import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.filter.OncePerRequestFilter;
 import org.springframework.web.method.HandlerMethod;
-import org.springframework.web.servlet.HandlerExecutionChain;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
 import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
 
 import jakarta.servlet.*;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
+/**
+ * Enforces {@link RateLimit} on annotated handler methods.
+ * The route-to-limit table is built once from the handler mappings at startup,
+ * so each request costs a hash lookup on its path instead of a full handler
+ * resolution, and requests to unannotated routes skip the filter body.
+ */
 @Component
 public class RateLimitFilter extends OncePerRequestFilter {
 
     private final RateLimitService rateLimitService;
-    private final RequestMappingHandlerMapping handlerMapping;
+
+    /**
+     * Literal paths, looked up directly.
+     */
+    private final Map<String, Map<RequestMethod, Route>> exactRoutes;
+
+    /**
+     * Paths with variables or wildcards, matched in order. Empty for the
+     * current API.
+     */
+    private final List<PatternRoute> patternRoutes;
 
     public RateLimitFilter(RateLimitService rateLimitService,
             @Qualifier("requestMappingHandlerMapping") RequestMappingHandlerMapping handlerMapping) {
         this.rateLimitService = rateLimitService;
-        this.handlerMapping = handlerMapping;
+
+        Map<String, Map<RequestMethod, Route>> exact = new HashMap<>();
+        List<PatternRoute> patterns = new ArrayList<>();
+        PathPatternParser parser = PathPatternParser.defaultInstance;
+
+        handlerMapping.getHandlerMethods().forEach((info, handlerMethod) -> {
+            RateLimit rateLimit = handlerMethod.getMethodAnnotation(RateLimit.class);
+            if (rateLimit == null) {
+                return;
+            }
+
+            Route route = new Route(handlerMethod.getMethod().getName(), rateLimit);
+            Set<RequestMethod> methods = methodsOf(info);
+
+            for (String path : info.getPatternValues()) {
+                PathPattern pattern = parser.parse(path);
+                if (pattern.hasPatternSyntax()) {
+                    patterns.add(new PatternRoute(pattern, methods, route));
+                } else {
+                    Map<RequestMethod, Route> byMethod = exact.computeIfAbsent(path,
+                            p -> new EnumMap<>(RequestMethod.class));
+                    methods.forEach(method -> byMethod.put(method, route));
+                }
+            }
+        });
+
+        exact.replaceAll((path, byMethod) -> Collections.unmodifiableMap(byMethod));
+        this.exactRoutes = Collections.unmodifiableMap(exact);
+        this.patternRoutes = List.copyOf(patterns);
     }
 
     @Override
@@ -32,33 +88,88 @@ public class RateLimitFilter extends OncePerRequestFilter {
             @NonNull HttpServletResponse response,
             @NonNull FilterChain filterChain) throws ServletException, IOException {
 
+        Route route = resolveRoute(request);
+        if (route == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        boolean allowed = true;
         try {
-            HandlerExecutionChain handlerExecutionChain = handlerMapping.getHandler(request);
-            if (handlerExecutionChain != null && handlerExecutionChain.getHandler() instanceof HandlerMethod) {
-                HandlerMethod handlerMethod = (HandlerMethod) handlerExecutionChain.getHandler();
-                RateLimit rateLimit = handlerMethod.getMethodAnnotation(RateLimit.class);
-
-                if (rateLimit != null) {
-                    String key = request.getRemoteAddr() + ":" + handlerMethod.getMethod().getName();
-                    boolean allowed = rateLimitService.tryConsume(
-                            key,
-                            rateLimit.capacity(),
-                            rateLimit.refillTokens(),
-                            rateLimit.refillDurationInMinutes());
-
-                    if (!allowed) {
-                        response.setStatus(429);
-                        response.setContentType("text/plain");
-                        response.getWriter().write("Too many requests");
-                        return;
-                    }
-                }
-            }
+            allowed = rateLimitService.tryConsume(
+                    request.getRemoteAddr(),
+                    route.name(),
+                    route.rateLimit());
         } catch (Exception e) {
             // Silently fall back to allowing the request if rate limiting fails
         }
 
+        if (!allowed) {
+            response.setStatus(429);
+            response.setContentType("text/plain");
+            response.getWriter().write("Too many requests");
+            return;
+        }
+
         filterChain.doFilter(request, response);
     }
 
+    private Route resolveRoute(HttpServletRequest request) {
+        RequestMethod method = RequestMethod.resolve(request.getMethod());
+        if (method == null) {
+            return null;
+        }
+
+        PathContainer path = RequestPath.parse(request.getRequestURI(), request.getContextPath())
+                .pathWithinApplication();
+
+        Map<RequestMethod, Route> byMethod = exactRoutes.get(lookupPath(path));
+        if (byMethod != null) {
+            Route route = byMethod.get(method);
+            if (route != null) {
+                return route;
+            }
+        }
+
+        if (!patternRoutes.isEmpty()) {
+            for (PatternRoute patternRoute : patternRoutes) {
+                if (patternRoute.methods().contains(method) && patternRoute.pattern().matches(path)) {
+                    return patternRoute.route();
+                }
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * The path as the handler mappings match it: percent-decoded and without
+     * matrix parameters. Looking up the raw URI would let
+     * {@code /auth/%6Cogin} or {@code /auth/login;a=b} reach the handler
+     * without being rate limited.
+     */
+    private static String lookupPath(PathContainer path) {
+        StringBuilder lookupPath = new StringBuilder(path.value().length());
+        for (PathContainer.Element element : path.elements()) {
+            lookupPath.append(element instanceof PathContainer.PathSegment segment
+                    ? segment.valueToMatch()
+                    : element.value());
+        }
+        return lookupPath.toString();
+    }
+
+    /**
+     * A mapping without a method condition accepts every HTTP method.
+     */
+    private static Set<RequestMethod> methodsOf(RequestMappingInfo info) {
+        Set<RequestMethod> methods = info.getMethodsCondition().getMethods();
+        return methods.isEmpty() ? Set.of(RequestMethod.values()) : Set.copyOf(methods);
+    }
+
+    private record Route(String name, RateLimit rateLimit) {
+    }
+
+    private record PatternRoute(PathPattern pattern, Set<RequestMethod> methods, Route route) {
+    }
+
 }
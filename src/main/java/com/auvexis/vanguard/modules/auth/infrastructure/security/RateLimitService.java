@@ -1,22 +1,94 @@
 package com.auvexis.vanguard.modules.auth.infrastructure.security;
 
+import java.net.Inet4Address;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.nio.ByteBuffer;
+import java.security.SecureRandom;
 import java.time.Duration;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
 import io.github.bucket4j.Bandwidth;
 import io.github.bucket4j.Bucket;
 import io.github.bucket4j.Refill;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 
+/**
+ * Token bucket rate limiting per client address and route.
+ * Routes in LOCAL mode are limited per JVM; routes in DISTRIBUTED mode are
+ * delegated to the Redis-backed {@link DistributedRateLimiter}.
+ * Local buckets live in a bounded, striped store so scanning traffic from many
+ * addresses cannot grow the heap without limit. Idle buckets are dropped after
+ * the configured expiry, which must be longer than the longest refill period
+ * so that dropping a bucket never hands out more tokens than a refill would.
+ */
 @Component
 public class RateLimitService {
 
-    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+    private static final long SEED = new SecureRandom().nextLong();
+    private static final long HASHED = 1L << 47;
+    private static final long HASH_MASK = HASHED - 1;
 
-    public Bucket resolveBucket(String key, long capacity, long refillTokens, int refillDurationInMinutes) {
-        return buckets.computeIfAbsent(key, k -> newBucket(capacity, refillTokens, refillDurationInMinutes));
+    private final RateLimitBucketStore<Bucket> store;
+    private final DistributedRateLimiter distributedRateLimiter;
+    private final Map<String, Integer> routeIds = new ConcurrentHashMap<>();
+    private final AtomicInteger nextRouteId = new AtomicInteger();
+
+    public RateLimitService(
+            MeterRegistry meterRegistry,
+            DistributedRateLimiter distributedRateLimiter,
+            @Value("${auth.rate-limit.max-entries:100000}") int maxEntries,
+            @Value("${auth.rate-limit.stripes:16}") int stripes,
+            @Value("${auth.rate-limit.idle-expiry-minutes:10}") long idleExpiryMinutes) {
+        this.store = new RateLimitBucketStore<>(maxEntries, stripes, Duration.ofMinutes(idleExpiryMinutes).toNanos());
+        this.distributedRateLimiter = distributedRateLimiter;
+
+        Gauge.builder("vanguard.ratelimit.buckets", store, RateLimitBucketStore::size)
+                .description("Rate limit buckets currently held in memory")
+                .register(meterRegistry);
+        FunctionCounter.builder("vanguard.ratelimit.evictions", store, RateLimitBucketStore::sizeEvictions)
+                .description("Rate limit buckets evicted to stay under the size cap")
+                .tag("reason", "size")
+                .register(meterRegistry);
+        FunctionCounter.builder("vanguard.ratelimit.evictions", store, RateLimitBucketStore::idleEvictions)
+                .description("Rate limit buckets evicted after being idle")
+                .tag("reason", "idle")
+                .register(meterRegistry);
+        Gauge.builder("vanguard.ratelimit.leases", distributedRateLimiter, DistributedRateLimiter::leaseCount)
+                .description("Token leases taken from distributed buckets currently held by this node")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Consumes one token for the client on the given route, using the bucket
+     * location selected by the route's annotation.
+     */
+    public boolean tryConsume(String clientAddress, String route, RateLimit rateLimit) {
+        if (rateLimit.mode() == RateLimit.Mode.DISTRIBUTED) {
+            long key = RateLimitBucketStore.key(addressKey(clientAddress), routeId(route));
+            return distributedRateLimiter.tryConsume(key, route + ":" + clientId(clientAddress), rateLimit);
+        }
+
+        return tryConsume(
+                clientAddress,
+                route,
+                rateLimit.capacity(),
+                rateLimit.refillTokens(),
+                rateLimit.refillDurationInMinutes());
+    }
+
+    public Bucket resolveBucket(String clientAddress, String route, long capacity, long refillTokens,
+            int refillDurationInMinutes) {
+        long key = RateLimitBucketStore.key(addressKey(clientAddress), routeId(route));
+        return store.getOrCreate(key, () -> newBucket(capacity, refillTokens, refillDurationInMinutes));
     }
 
     private Bucket newBucket(long capacity, long refillTokens, int refillDurationInMinutes) {
@@ -26,9 +98,143 @@ public class RateLimitService {
                 .build();
     }
 
-    public boolean tryConsume(String key, long capacity, long refillTokens, int refillDurationInMinutes) {
-        Bucket bucket = resolveBucket(key, capacity, refillTokens, refillDurationInMinutes);
+    public boolean tryConsume(String clientAddress, String route, long capacity, long refillTokens,
+            int refillDurationInMinutes) {
+        Bucket bucket = resolveBucket(clientAddress, route, capacity, refillTokens, refillDurationInMinutes);
         return bucket.tryConsume(1);
     }
 
+    @Scheduled(fixedDelayString = "${auth.rate-limit.sweep-interval-ms:60000}")
+    public void evictIdleBuckets() {
+        store.evictIdle();
+    }
+
+    /**
+     * Routes are few and fixed, so each gets a small sequential id once.
+     */
+    private int routeId(String route) {
+        return routeIds.computeIfAbsent(route, r -> {
+            int id = nextRouteId.getAndIncrement();
+            if (id > RateLimitBucketStore.MAX_ROUTE_ID) {
+                throw new IllegalStateException("Too many rate-limited routes");
+            }
+            return id;
+        });
+    }
+
+    /**
+     * Packs a client address into the 48 bits the bucket store keeps for it.
+     * IPv4 addresses, including IPv4-mapped IPv6, are stored losslessly in the
+     * low 32 bits. IPv6 clients are limited per /64, the block a single host
+     * is normally given, so the prefix is hashed with a per-process seed and
+     * tagged with bit 47: a tagged key can never equal an IPv4 key, and the
+     * seed keeps collisions between prefixes unpredictable. Anything else
+     * (unix sockets) hashes its text the same way.
+     */
+    static long addressKey(String address) {
+        long ipv4 = parseIpv4(address);
+        if (ipv4 >= 0) {
+            return ipv4;
+        }
+
+        InetAddress ip = parseIpv6(address);
+        if (ip instanceof Inet4Address) {
+            return Integer.toUnsignedLong(ByteBuffer.wrap(ip.getAddress()).getInt());
+        }
+        if (ip != null) {
+            return HASHED | (mix(SEED ^ ByteBuffer.wrap(ip.getAddress()).getLong()) & HASH_MASK);
+        }
+
+        long hash = SEED;
+        for (int i = 0; i < address.length(); i++) {
+            hash = (hash ^ address.charAt(i)) * 0x100000001b3L;
+        }
+        return HASHED | (mix(hash) & HASH_MASK);
+    }
+
+    /**
+     * Names the shared bucket after the same client identity as
+     * {@link #addressKey(String)}, so every address in an IPv6 /64 draws from
+     * one Redis bucket just as it shares one local lease.
+     */
+    static String clientId(String address) {
+        if (parseIpv4(address) >= 0) {
+            return address;
+        }
+
+        InetAddress ip = parseIpv6(address);
+        if (ip instanceof Inet4Address) {
+            return ip.getHostAddress();
+        }
+        if (ip != null) {
+            byte[] bytes = ip.getAddress();
+            StringBuilder prefix = new StringBuilder();
+            for (int i = 0; i < 8; i += 2) {
+                prefix.append(Integer.toHexString(((bytes[i] & 0xff) << 8) | (bytes[i + 1] & 0xff))).append(':');
+            }
+            return prefix.append(":/64").toString();
+        }
+        return address;
+    }
+
+    /**
+     * @return The address as an unsigned 32-bit value, or -1 if it is not a
+     *         dotted-quad IPv4 address.
+     */
+    private static long parseIpv4(String address) {
+        long value = 0;
+        int octet = 0;
+        int dots = 0;
+        int digits = 0;
+
+        for (int i = 0; i < address.length(); i++) {
+            char c = address.charAt(i);
+            if (c >= '0' && c <= '9' && digits < 3) {
+                octet = octet * 10 + (c - '0');
+                digits++;
+            } else if (c == '.' && digits > 0 && dots < 3 && octet <= 255) {
+                value = (value << 8) | octet;
+                octet = 0;
+                digits = 0;
+                dots++;
+            } else {
+                return -1;
+            }
+        }
+
+        if (dots != 3 || digits == 0 || octet > 255) {
+            return -1;
+        }
+        return (value << 8) | octet;
+    }
+
+    /**
+     * The JDK only parses a host as an IPv6 literal, without a DNS lookup,
+     * when it starts like one and contains a colon, so anything else is
+     * rejected up front.
+     *
+     * @return The parsed address, or null if it is not an IPv6 literal.
+     */
+    private static InetAddress parseIpv6(String address) {
+        if (address.isEmpty() || address.indexOf(':') < 0) {
+            return null;
+        }
+        char first = address.charAt(0);
+        if (first != '[' && first != ':' && Character.digit(first, 16) < 0) {
+            return null;
+        }
+
+        try {
+            return InetAddress.getByName(address);
+        } catch (UnknownHostException e) {
+            return null;
+        }
+    }
+
+    private static long mix(long value) {
+        value = (value ^ (value >>> 33)) * 0xff51afd7ed558ccdL;
+        value = (value ^ (value >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return value ^ (value >>> 33);
+    }
+
 }
@@ -23,6 +23,8 @@ import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 import org.springframework.beans.factory.annotation.Value;
 
+import io.micrometer.core.instrument.MeterRegistry;
+
 import java.util.Arrays;
 
 @Configuration
@@ -51,11 +53,13 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.GET, "/api/v1/auth/me").authenticated()
                         .requestMatchers("/api/v1/auth/**").permitAll()
                         .requestMatchers("/api/v1/admin/**").hasRole("SYSTEM_ADMIN")
+                        .requestMatchers("/actuator/**").hasRole("SYSTEM_ADMIN")
                         .requestMatchers("/api/v1/support/**")
                         .hasAnyRole("SYSTEM_ADMIN", "SUPPORT")
                         .requestMatchers("/api/v1/auditor/**")
                         .hasAnyRole("SYSTEM_ADMIN", "AUDITOR")
                         .requestMatchers("/api/v1/health").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/.well-known/jwks.json").permitAll()
                         .requestMatchers("/error").permitAll()
                         .anyRequest().authenticated())
                 .exceptionHandling(ex -> ex
@@ -84,9 +88,24 @@ public class SecurityConfig {
         return http.build();
     }
 
+    /**
+     * BCrypt runs on a dedicated bounded pool so hashing bursts cannot tie up
+     * every request thread.
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(
+            MeterRegistry meterRegistry,
+            @Value("${auth.password-hashing.threads:0}") int threads,
+            @Value("${auth.password-hashing.queue-capacity:64}") int queueCapacity,
+            @Value("${auth.password-hashing.timeout-ms:5000}") long timeoutMs,
+            @Value("${auth.password-hashing.retry-after-seconds:1}") long retryAfterSeconds) {
+        return new BoundedPasswordEncoder(
+                new BCryptPasswordEncoder(),
+                meterRegistry,
+                threads,
+                queueCapacity,
+                timeoutMs,
+                retryAfterSeconds);
     }
 
     @Bean
@@ -0,0 +1,91 @@
+package com.auvexis.vanguard.modules.auth.infrastructure.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.UUID;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Issues and checks email verification tokens.
+ *
+ * Each verification stores a random seed; the token sent to the user is
+ * {@code HMAC-SHA256(secret, userId:seed)}. The database alone is not enough
+ * to forge a token, the same token can be derived again when the email is
+ * resent, and checking a token costs one HMAC instead of a password hash.
+ * Tokens are compared in constant time.
+ */
+@Component
+public class VerificationTokenService {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final String CONTEXT = "email-verification:";
+    private static final int SEED_BYTES = 16;
+
+    /**
+     * Verifications created before HMAC tokens stored the emailed token itself,
+     * a BCrypt string; they are still accepted until they expire.
+     */
+    private static final String LEGACY_PREFIX = "$2";
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private final ThreadLocal<Mac> mac;
+
+    public VerificationTokenService(
+            @Value("${auth.verification-token.secret:${auth.jwt.secret}}") String secret) {
+        SecretKeySpec key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+        this.mac = ThreadLocal.withInitial(() -> {
+            try {
+                Mac instance = Mac.getInstance(ALGORITHM);
+                instance.init(key);
+                return instance;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("HMAC-SHA256 is not available", e);
+            }
+        });
+    }
+
+    /**
+     * @return A new random seed (128 bits, URL-safe Base64) to store with the
+     *         verification.
+     */
+    public String newSeed() {
+        byte[] bytes = new byte[SEED_BYTES];
+        RANDOM.nextBytes(bytes);
+        return ENCODER.encodeToString(bytes);
+    }
+
+    /**
+     * @return The token to email for the stored seed.
+     */
+    public String tokenFor(UUID userId, String seed) {
+        if (seed.startsWith(LEGACY_PREFIX)) {
+            return seed;
+        }
+
+        byte[] digest = mac.get().doFinal((CONTEXT + userId + ":" + seed).getBytes(StandardCharsets.UTF_8));
+        return ENCODER.encodeToString(digest);
+    }
+
+    /**
+     * Checks a presented token against the stored seed in constant time.
+     */
+    public boolean matches(UUID userId, String seed, String token) {
+        if (token == null) {
+            return false;
+        }
+
+        return MessageDigest.isEqual(
+                tokenFor(userId, seed).getBytes(StandardCharsets.UTF_8),
+                token.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -1,26 +1,75 @@
 package com.auvexis.vanguard.modules.auth.jobs;
 
+import java.time.Duration;
 import java.time.Instant;
-import java.time.temporal.ChronoUnit;
+import java.util.List;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import com.auvexis.vanguard.modules.auth.infrastructure.cache.RegisteredEmailIndex;
 import com.auvexis.vanguard.modules.auth.infrastructure.repository.UserRepository;
 
+/**
+ * Removes accounts whose email was never verified within the grace period.
+ *
+ * Users are deleted in small chunks, each in its own transaction, so locks on
+ * {@code auth.users} are only held for one chunk at a time. A run stops once
+ * nothing is left or its time budget is spent; the next run picks up the rest.
+ * Deleted emails are dropped from the {@link RegisteredEmailIndex} so they can
+ * register again.
+ */
 @Component
 public class DeleteOldUsersJob {
 
+    private static final Logger log = LoggerFactory.getLogger(DeleteOldUsersJob.class);
+
     private final UserRepository userRepository;
+    private final RegisteredEmailIndex emailIndex;
+    private final Duration gracePeriod;
+    private final int batchSize;
+    private final long timeBudgetNanos;
 
-    public DeleteOldUsersJob(UserRepository userRepository) {
+    public DeleteOldUsersJob(
+            UserRepository userRepository,
+            RegisteredEmailIndex emailIndex,
+            @Value("${auth.cleanup.unverified-grace-period-ms:86400000}") long gracePeriodMs,
+            @Value("${auth.cleanup.batch-size:500}") int batchSize,
+            @Value("${auth.cleanup.time-budget-ms:10000}") long timeBudgetMs) {
         this.userRepository = userRepository;
+        this.emailIndex = emailIndex;
+        this.gracePeriod = Duration.ofMillis(gracePeriodMs);
+        this.batchSize = batchSize;
+        this.timeBudgetNanos = Duration.ofMillis(timeBudgetMs).toNanos();
     }
 
     @Scheduled(cron = "0 */5 * * * ?", zone = "UTC")
     public void execute() {
-        Instant limit = Instant.now().minus(1, ChronoUnit.DAYS);
-        userRepository.deleteUsersOlderThan(limit);
+        Instant limit = Instant.now().minus(gracePeriod);
+        long start = System.nanoTime();
+        int total = 0;
+        int deleted;
+
+        do {
+            long batchStart = System.nanoTime();
+            List<String> emails = userRepository.deleteUnverifiedUsersCreatedBefore(limit, batchSize);
+            emailIndex.removeAll(emails);
+
+            deleted = emails.size();
+            total += deleted;
+
+            if (deleted > 0) {
+                log.info("Deleted {} unverified users in {} ms", deleted,
+                        Duration.ofNanos(System.nanoTime() - batchStart).toMillis());
+            }
+        } while (deleted == batchSize && System.nanoTime() - start < timeBudgetNanos);
+
+        if (deleted == batchSize) {
+            log.info("Cleanup time budget spent after {} users, continuing on the next run", total);
+        }
     }
 
 }
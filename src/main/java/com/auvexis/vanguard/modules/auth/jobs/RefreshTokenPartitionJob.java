@@ -0,0 +1,106 @@
+package com.auvexis.vanguard.modules.auth.jobs;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Maintains the daily partitions of {@code auth.refresh_tokens}: creates the
+ * partitions needed by tokens issued in the coming days and drops whole
+ * partitions once every token in them has expired.
+ *
+ * The work is done by {@code auth.maintain_refresh_token_partitions}, which
+ * takes an advisory lock, so it is safe to run on every node. Partitions the
+ * function could not create or drop, failed runs, and tokens left in the
+ * default partition are exported as metrics so a stuck maintenance shows up
+ * before the partitions run out.
+ */
+@Component
+@ConditionalOnProperty(name = "auth.refresh-token.store", havingValue = "database", matchIfMissing = true)
+public class RefreshTokenPartitionJob {
+
+    private static final Logger log = LoggerFactory.getLogger(RefreshTokenPartitionJob.class);
+
+    private static final String MAINTAIN_SQL =
+            "SELECT dropped, failed, defaulted FROM auth.maintain_refresh_token_partitions(?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int daysAhead;
+
+    private final Counter partitionFailures;
+    private final Counter runFailures;
+    private final AtomicLong defaultedTokens = new AtomicLong();
+
+    public RefreshTokenPartitionJob(
+            JdbcTemplate jdbcTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${auth.jwt.refresh-expiration-ms}") long refreshExpirationMs,
+            @Value("${auth.refresh-token.partitions.extra-days:7}") int extraDays) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.daysAhead = daysAhead(Duration.ofMillis(refreshExpirationMs), extraDays);
+
+        this.partitionFailures = Counter.builder("vanguard.auth.refresh-token.partitions.failures")
+                .description("Refresh token partition maintenance failures")
+                .tag("scope", "partition")
+                .register(meterRegistry);
+        this.runFailures = Counter.builder("vanguard.auth.refresh-token.partitions.failures")
+                .description("Refresh token partition maintenance failures")
+                .tag("scope", "run")
+                .register(meterRegistry);
+        Gauge.builder("vanguard.auth.refresh-token.partitions.defaulted", defaultedTokens, AtomicLong::get)
+                .description("Refresh tokens held in the default partition")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Partitions must always exist for the full lifetime of a token issued
+     * now, plus a margin so a few missed runs do not send tokens to the
+     * default partition.
+     */
+    static int daysAhead(Duration refreshExpiration, int extraDays) {
+        long dayMs = Duration.ofDays(1).toMillis();
+        long days = (refreshExpiration.toMillis() + dayMs - 1) / dayMs;
+        return Math.toIntExact(days + extraDays);
+    }
+
+    @Scheduled(fixedDelayString = "${auth.refresh-token.partitions.interval-ms:3600000}")
+    public void execute() {
+        MaintenanceResult result;
+        try {
+            result = jdbcTemplate.queryForObject(MAINTAIN_SQL,
+                    (rs, rowNum) -> new MaintenanceResult(rs.getInt(1), rs.getInt(2), rs.getLong(3)),
+                    daysAhead);
+        } catch (DataAccessException e) {
+            runFailures.increment();
+            log.warn("Refresh token partition maintenance failed: {}", e.getMessage());
+            return;
+        }
+        if (result == null) {
+            return;
+        }
+
+        if (result.dropped() > 0) {
+            log.info("Dropped {} expired refresh token partitions", result.dropped());
+        }
+        if (result.failed() > 0) {
+            partitionFailures.increment(result.failed());
+            log.warn("Could not create or drop {} refresh token partitions", result.failed());
+        }
+        defaultedTokens.set(result.defaulted());
+    }
+
+    private record MaintenanceResult(int dropped, int failed, long defaulted) {
+    }
+}
@@ -0,0 +1,123 @@
+package com.auvexis.vanguard.modules.auth.messaging;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageDeliveryMode;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.AbstractJavaTypeMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.auvexis.vanguard.modules.auth.domain.OutboxMessage;
+import com.auvexis.vanguard.modules.auth.infrastructure.repository.OutboxRepository;
+import com.auvexis.vanguard.shared.infrastructure.rabbitmq.BatchingRabbitPublisher;
+import com.auvexis.vanguard.shared.infrastructure.rabbitmq.MessagingConfig;
+
+/**
+ * Drains the outbox to {@code app.exchange}.
+ * Each batch is locked and handed to the {@link BatchingRabbitPublisher}, and
+ * a message is only deleted once the broker has confirmed it, so delivery is
+ * at-least-once: a message is resent if the confirm is lost or the node stops
+ * before deleting it.
+ */
+@Component
+public class OutboxRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private final OutboxRepository outboxRepository;
+    private final BatchingRabbitPublisher publisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final long confirmTimeoutMs;
+
+    public OutboxRelay(
+            OutboxRepository outboxRepository,
+            BatchingRabbitPublisher publisher,
+            TransactionTemplate transactionTemplate,
+            @Value("${auth.outbox.batch-size:100}") int batchSize,
+            @Value("${auth.outbox.confirm-timeout-ms:5000}") long confirmTimeoutMs) {
+        this.outboxRepository = outboxRepository;
+        this.publisher = publisher;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.confirmTimeoutMs = confirmTimeoutMs;
+    }
+
+    /**
+     * Relays full batches back to back until the outbox is drained or a batch
+     * is not fully confirmed.
+     */
+    @Scheduled(fixedDelayString = "${auth.outbox.poll-interval-ms:500}")
+    public void relay() {
+        Integer relayed;
+        do {
+            relayed = transactionTemplate.execute(status -> relayBatch());
+        } while (relayed != null && relayed == batchSize);
+    }
+
+    int relayBatch() {
+        List<OutboxMessage> batch = outboxRepository.lockNextBatch(batchSize);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        List<CompletableFuture<Void>> pending = new ArrayList<>(batch.size());
+        for (OutboxMessage message : batch) {
+            pending.add(publisher.publish(
+                    MessagingConfig.APP_EXCHANGE,
+                    message.getRoutingKey(),
+                    toMessage(message),
+                    message.getId().toString()));
+        }
+
+        List<Long> confirmed = awaitConfirms(batch, pending);
+        outboxRepository.deleteAllByIdInBatch(confirmed);
+
+        if (confirmed.size() < batch.size()) {
+            log.warn("Broker confirmed {} of {} outbox messages, retrying the rest later",
+                    confirmed.size(), batch.size());
+        }
+        return confirmed.size();
+    }
+
+    private List<Long> awaitConfirms(List<OutboxMessage> batch, List<CompletableFuture<Void>> pending) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(confirmTimeoutMs);
+        List<Long> confirmed = new ArrayList<>(pending.size());
+
+        for (int i = 0; i < pending.size(); i++) {
+            try {
+                pending.get(i).get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                confirmed.add(batch.get(i).getId());
+            } catch (TimeoutException | ExecutionException e) {
+                log.debug("Outbox message {} not confirmed: {}", batch.get(i).getId(), e.getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        return confirmed;
+    }
+
+    private static Message toMessage(OutboxMessage outboxMessage) {
+        MessageProperties properties = new MessageProperties();
+        properties.setContentType(MessageProperties.CONTENT_TYPE_JSON);
+        properties.setContentEncoding(StandardCharsets.UTF_8.name());
+        properties.setDeliveryMode(MessageDeliveryMode.PERSISTENT);
+        properties.setMessageId(outboxMessage.getId().toString());
+        properties.setHeader(AbstractJavaTypeMapper.DEFAULT_CLASSID_FIELD_NAME, outboxMessage.getPayloadType());
+
+        return new Message(outboxMessage.getPayload().getBytes(StandardCharsets.UTF_8), properties);
+    }
+}
@@ -1,32 +1,50 @@
 package com.auvexis.vanguard.modules.auth.messaging;
 
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.stereotype.Service;
 
+import com.auvexis.vanguard.modules.auth.domain.OutboxMessage;
+import com.auvexis.vanguard.modules.auth.infrastructure.repository.OutboxRepository;
 import com.auvexis.vanguard.shared.events.UserEmailVerificationEvent;
-import com.auvexis.vanguard.shared.infrastructure.rabbitmq.MessagingConfig;
-
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Publishes auth domain events through the transactional outbox.
+ * Events are stored in the caller's transaction and relayed to the broker by
+ * {@link OutboxRelay}, so they are only sent if the transaction commits and
+ * publishing never waits on the broker.
+ */
 @Service
 public class UserPublisher {
 
-    private final RabbitTemplate rabbitTemplate;
+    public static final String USER_EMAIL_VERIFICATION = "auth.user.email.verification";
+    public static final String USER_EMAIL_VERIFICATION_RESEND = "auth.user.email.verification.resend";
+
+    private final OutboxRepository outboxRepository;
+    private final ObjectMapper objectMapper;
 
-    public UserPublisher(RabbitTemplate rabbitTemplate) {
-        this.rabbitTemplate = rabbitTemplate;
+    public UserPublisher(OutboxRepository outboxRepository, ObjectMapper objectMapper) {
+        this.outboxRepository = outboxRepository;
+        this.objectMapper = objectMapper;
     }
 
     public void publishUserEmailVerification(UserEmailVerificationEvent event) {
-        rabbitTemplate.convertAndSend(
-                MessagingConfig.APP_EXCHANGE,
-                "auth.user.email.verification",
-                event);
+        enqueue(USER_EMAIL_VERIFICATION, event);
     }
 
     public void publishUserEmailVerificationResend(UserEmailVerificationEvent event) {
-        rabbitTemplate.convertAndSend(
-                MessagingConfig.APP_EXCHANGE,
-                "auth.user.email.verification.resend",
-                event);
+        enqueue(USER_EMAIL_VERIFICATION_RESEND, event);
+    }
+
+    private void enqueue(String routingKey, Object event) {
+        try {
+            outboxRepository.save(new OutboxMessage(
+                    routingKey,
+                    event.getClass().getName(),
+                    objectMapper.writeValueAsString(event)));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize " + event.getClass().getName(), e);
+        }
     }
 
 }
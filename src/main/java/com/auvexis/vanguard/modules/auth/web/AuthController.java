@@ -20,6 +20,8 @@ import com.auvexis.vanguard.modules.auth.web.dtos.TokenRefreshRequest;
 import com.auvexis.vanguard.modules.auth.web.dtos.TokenRefreshResponse;
 import com.auvexis.vanguard.modules.auth.web.dtos.UserResponse;
 import com.auvexis.vanguard.modules.auth.infrastructure.security.RateLimit;
+import com.auvexis.vanguard.modules.auth.infrastructure.security.RateLimit.Mode;
+import com.auvexis.vanguard.shared.infrastructure.jwt.JwtPrincipal;
 import com.auvexis.vanguard.shared.web.ApiResponse;
 
 /**
@@ -39,14 +41,14 @@ public class AuthController {
         this.verificationService = verificationService;
     }
 
-    @RateLimit(capacity = 5, refillTokens = 5, refillDurationInMinutes = 1)
+    @RateLimit(capacity = 5, refillTokens = 5, refillDurationInMinutes = 1, mode = Mode.DISTRIBUTED)
     @PostMapping("/register")
     public ApiResponse<Void> register(@RequestBody RegisterRequest request) {
         authService.register(request);
         return ApiResponse.no_content(null);
     }
 
-    @RateLimit(capacity = 5, refillTokens = 5, refillDurationInMinutes = 1)
+    @RateLimit(capacity = 5, refillTokens = 5, refillDurationInMinutes = 1, mode = Mode.DISTRIBUTED)
     @PostMapping("/login")
     public ApiResponse<LoginResponse> login(@RequestBody LoginRequest request) {
         return ApiResponse.ok(
@@ -58,17 +60,17 @@ public class AuthController {
      * Retrieves the authenticated user's profile information.
      * Requires a valid Bearer token in the Authorization header.
      * 
-     * @param email The extracted email from the security context.
+     * @param principal The token principal from the security context.
      * @return The user response DTO.
      */
     @GetMapping("/me")
-    public ApiResponse<UserResponse> me(@AuthenticationPrincipal String email) {
+    public ApiResponse<UserResponse> me(@AuthenticationPrincipal JwtPrincipal principal) {
         return ApiResponse.ok(
                 "User profile fetched successfully",
-                authService.getProfile(email));
+                authService.getProfile(principal.email()));
     }
 
-    @RateLimit(capacity = 2, refillTokens = 2, refillDurationInMinutes = 1)
+    @RateLimit(capacity = 2, refillTokens = 2, refillDurationInMinutes = 1, mode = Mode.DISTRIBUTED)
     @PostMapping("/refresh")
     public ApiResponse<TokenRefreshResponse> refresh(@RequestBody TokenRefreshRequest request) {
         return ApiResponse.ok(
@@ -78,13 +80,13 @@ public class AuthController {
 
     @PostMapping("/logout")
     public ApiResponse<Void> logout(
-            @AuthenticationPrincipal String email,
+            @AuthenticationPrincipal JwtPrincipal principal,
             @RequestHeader("Authorization") String token) {
-        authService.logout(email, token);
+        authService.logout(principal.email(), token);
         return ApiResponse.no_content(null);
     }
 
-    @RateLimit(capacity = 1, refillTokens = 1, refillDurationInMinutes = 1)
+    @RateLimit(capacity = 1, refillTokens = 1, refillDurationInMinutes = 1, mode = Mode.DISTRIBUTED)
     @PostMapping("/verify-email")
     public ApiResponse<Void> verifyEmail(
             @RequestParam("user_id") UUID userID,
@@ -93,7 +95,7 @@ public class AuthController {
         return ApiResponse.no_content("Email verified successfully");
     }
 
-    @RateLimit(capacity = 1, refillTokens = 1, refillDurationInMinutes = 1)
+    @RateLimit(capacity = 1, refillTokens = 1, refillDurationInMinutes = 1, mode = Mode.DISTRIBUTED)
     @PostMapping("/resend-verification-email")
     public ApiResponse<Void> resendVerificationEmail(@RequestParam("email") String email) {
         verificationService.resendVerificationEmail(email);
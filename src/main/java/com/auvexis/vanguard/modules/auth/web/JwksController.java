@@ -0,0 +1,33 @@
+package com.auvexis.vanguard.modules.auth.web;
+
+import java.time.Duration;
+import java.util.Map;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.auvexis.vanguard.shared.infrastructure.jwt.JwtSigningKeys;
+
+/**
+ * Publishes the access token verification keys as a standard JSON Web Key Set.
+ * The document is returned as-is rather than wrapped in ApiResponse, so
+ * off-the-shelf JWT libraries can consume and cache it directly.
+ */
+@RestController
+public class JwksController {
+
+    private final JwtSigningKeys signingKeys;
+
+    public JwksController(JwtSigningKeys signingKeys) {
+        this.signingKeys = signingKeys;
+    }
+
+    @GetMapping("/.well-known/jwks.json")
+    public ResponseEntity<Map<String, Object>> jwks() {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(Duration.ofHours(1)).cachePublic())
+                .body(signingKeys.jwks());
+    }
+}
@@ -1,5 +1,8 @@
 package com.auvexis.vanguard.modules.auth.web.exception;
 
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
@@ -9,6 +12,7 @@ import com.auvexis.vanguard.modules.auth.application.exception.EmailNotFoundExce
 import com.auvexis.vanguard.modules.auth.application.exception.EmailNotVerifiedException;
 import com.auvexis.vanguard.modules.auth.application.exception.EmailVerificationTokenInvalidException;
 import com.auvexis.vanguard.modules.auth.application.exception.InvalidCredentialsException;
+import com.auvexis.vanguard.modules.auth.application.exception.PasswordHashingUnavailableException;
 import com.auvexis.vanguard.modules.auth.application.exception.RefreshTokenExpiredException;
 import com.auvexis.vanguard.shared.web.ApiResponse;
 
@@ -49,4 +53,16 @@ public class AuthExceptionHandler {
     public ApiResponse<Void> handleEmailAlreadyVerifiedException(EmailAlreadyVerifiedException e) {
         return ApiResponse.error_generic(409, null, e.getMessage());
     }
+
+    /**
+     * Uses a real 503 status and Retry-After header so clients and load
+     * balancers back off instead of retrying immediately.
+     */
+    @ExceptionHandler(PasswordHashingUnavailableException.class)
+    public ResponseEntity<ApiResponse<Void>> handlePasswordHashingUnavailableException(
+            PasswordHashingUnavailableException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(ApiResponse.error_generic(503, null, e.getMessage()));
+    }
 }
@@ -1,79 +1,231 @@
 package com.auvexis.vanguard.modules.email.auth;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.core.Message;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.support.converter.MessageConversionException;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import com.auvexis.vanguard.modules.email.template.EmailTemplateEngine;
+import com.auvexis.vanguard.modules.email.template.RenderedEmail;
 import com.auvexis.vanguard.shared.events.UserEmailVerificationEvent;
+import com.auvexis.vanguard.shared.infrastructure.rabbitmq.MessagingConfig;
+import com.auvexis.vanguard.shared.infrastructure.rabbitmq.TieredRetryRecoverer;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.resend.Resend;
 import com.resend.core.exception.ResendException;
+import com.resend.services.batch.model.BatchError;
+import com.resend.services.batch.model.CreateBatchEmailsResponse;
 import com.resend.services.emails.model.CreateEmailOptions;
 
 /**
  * Asynchronous consumer for authentication-related email events.
  * Manages the dispatch of system emails (e.g., verification tokens) using
  * Spring's JavaMailSender, triggered by RabbitMQ events.
+ *
+ * Queues are consumed in batches (see {@link MessagingConfig#BATCH_LISTENER_FACTORY})
+ * and each batch is sent with a single call to the Resend batch API. Messages
+ * that fail are routed to the retry tiers one by one.
+ *
+ * Email content comes from the precompiled templates of
+ * {@link EmailTemplateEngine}. Events carry no locale yet, so every email is
+ * rendered in the default locale.
  */
 @Service
 public class AuthEmailService {
 
+    public static final String VERIFICATION_LISTENER = "email-verification";
+    public static final String VERIFICATION_RESEND_LISTENER = "email-verification-resend";
+
+    private static final String FROM = "vanguard@auvexis.com";
+    private static final String VERIFICATION_TEMPLATE = "verification";
+    private static final String VERIFICATION_RESEND_TEMPLATE = "verification-resend";
+
+    private static final Logger log = LoggerFactory.getLogger(AuthEmailService.class);
+
     @Value("${vanguard.client.url}")
     private String clientUrl;
 
     private final Resend resend;
+    private final ObjectMapper objectMapper;
+    private final TieredRetryRecoverer retryRecoverer;
+    private final EmailTemplateEngine templateEngine;
+    private final EmailDedupeWindow dedupeWindow;
 
-    public AuthEmailService(Resend resend) {
+    public AuthEmailService(
+            Resend resend,
+            ObjectMapper objectMapper,
+            TieredRetryRecoverer retryRecoverer,
+            EmailTemplateEngine templateEngine,
+            EmailDedupeWindow dedupeWindow) {
         this.resend = resend;
+        this.objectMapper = objectMapper;
+        this.retryRecoverer = retryRecoverer;
+        this.templateEngine = templateEngine;
+        this.dedupeWindow = dedupeWindow;
     }
 
-    /**
-     * Listener for initial user registration events.
-     * Generates and sends a welcome email containing the account verification link.
-     */
-    @RabbitListener(queues = AuthQueues.USER_EMAIL_VERIFICATION_QUEUE)
-    public void onUserEmailVerification(UserEmailVerificationEvent event) {
-        String subject = "Hey " + event.name().split(" ")[0] + ", Verify your email!";
-        String body = "Hello " + event.name().split(" ")[0] + ",\n\nThanks for joining Vanguard!\n\n" +
-                "Please click on the link below to verify your email address:\n\n" +
-                clientUrl + "/auth/verify-email?user_id=" + event.id() +
-                "&email_token=" + event.token() +
-                "\n\nIf you did not create this account, please ignore this email.";
-
-        CreateEmailOptions params = CreateEmailOptions.builder()
-                .from("vanguard@auvexis.com")
+    @RabbitListener(
+            id = VERIFICATION_LISTENER,
+            queues = AuthQueues.USER_EMAIL_VERIFICATION_QUEUE,
+            containerFactory = MessagingConfig.BATCH_LISTENER_FACTORY)
+    public void onUserEmailVerificationBatch(List<Message> messages) {
+        sendBatch(messages, VERIFICATION_TEMPLATE);
+    }
+
+    @RabbitListener(
+            id = VERIFICATION_RESEND_LISTENER,
+            queues = AuthQueues.USER_EMAIL_VERIFICATION_RESEND_QUEUE,
+            containerFactory = MessagingConfig.BATCH_LISTENER_FACTORY)
+    public void onUserEmailVerificationResendBatch(List<Message> messages) {
+        sendBatch(messages, VERIFICATION_RESEND_TEMPLATE);
+    }
+
+    private CreateEmailOptions email(String template, UserEmailVerificationEvent event) {
+        String firstName = firstName(event.name());
+        String verificationUrl = clientUrl + "/auth/verify-email?user_id=" + event.id()
+                + "&email_token=" + event.token();
+
+        RenderedEmail email = templateEngine.render(template, null, variable -> switch (variable) {
+            case "firstName" -> firstName;
+            case "verificationUrl" -> verificationUrl;
+            default -> null;
+        });
+
+        return CreateEmailOptions.builder()
+                .from(FROM)
                 .to(event.email())
-                .subject(subject)
-                .html(body)
+                .subject(email.subject())
+                .html(email.html())
+                .text(email.text())
                 .build();
+    }
+
+    private static String firstName(String name) {
+        int space = name.indexOf(' ');
+        return space < 0 ? name : name.substring(0, space);
+    }
+
+    /**
+     * Sends one email per message with a single batch request.
+     * Messages that cannot be read, or that the provider rejects, are handed to
+     * the retry tiers individually; the rest of the batch is acknowledged.
+     * Emails already sent to the same user within the dedupe window are
+     * acknowledged without sending.
+     *
+     * A dedupe claim is kept only for an email the provider accepted. If
+     * anything else fails, the claims still held are released before the
+     * exception reaches the container. Otherwise the redelivered batch would
+     * be dropped as duplicates.
+     */
+    private void sendBatch(List<Message> messages, String template) {
+        List<Message> accepted = new ArrayList<>(messages.size());
+        List<UserEmailVerificationEvent> events = new ArrayList<>(messages.size());
+
+        for (Message message : messages) {
+            try {
+                events.add(objectMapper.readValue(message.getBody(), UserEmailVerificationEvent.class));
+                accepted.add(message);
+            } catch (IOException e) {
+                retryRecoverer.recover(message, new MessageConversionException("Unreadable email event", e));
+            }
+        }
+
+        if (events.isEmpty()) {
+            return;
+        }
+
+        boolean[] claimed = dedupeWindow.claim(template, events.stream().map(UserEmailVerificationEvent::id).toList());
+
+        List<UUID> held = new ArrayList<>(events.size());
+        for (int i = 0; i < events.size(); i++) {
+            if (claimed[i]) {
+                held.add(events.get(i).id());
+            }
+        }
+
+        if (held.size() < events.size()) {
+            log.debug("Dropped {} duplicate {} emails", events.size() - held.size(), template);
+        }
+        if (held.isEmpty()) {
+            return;
+        }
 
         try {
-            resend.emails().send(params);
-        } catch (ResendException e) {
-            throw new RuntimeException("Failed to send verification email", e);
+            send(template, accepted, events, claimed, held);
+        } catch (RuntimeException e) {
+            dedupeWindow.release(template, held);
+            throw e;
         }
     }
 
-    @RabbitListener(queues = AuthQueues.USER_EMAIL_VERIFICATION_RESEND_QUEUE)
-    public void onUserEmailVerificationResend(UserEmailVerificationEvent event) {
-        String subject = "Hey " + event.name().split(" ")[0] + ", Resend verification email!";
-        String body = "Hello " + event.name().split(" ")[0] + ",\n\nHere is your verification email:\n\n" +
-                "Please click on the link below to verify your email address:\n\n" +
-                clientUrl + "/auth/verify-email?user_id=" + event.id() +
-                "&email_token=" + event.token() +
-                "\n\nIf you did not request this email, please ignore this email.";
-
-        CreateEmailOptions params = CreateEmailOptions.builder()
-                .from("vanguard@auvexis.com")
-                .to(event.email())
-                .subject(subject)
-                .html(body)
-                .build();
+    /**
+     * Removes recipients from {@code held} as their claims are settled:
+     * released on failure, or kept once the provider accepted the email.
+     */
+    private void send(
+            String template,
+            List<Message> accepted,
+            List<UserEmailVerificationEvent> events,
+            boolean[] claimed,
+            List<UUID> held) {
+        List<Message> sending = new ArrayList<>(events.size());
+        List<UUID> recipients = new ArrayList<>(events.size());
+        List<CreateEmailOptions> emails = new ArrayList<>(events.size());
+        for (int i = 0; i < events.size(); i++) {
+            if (!claimed[i]) {
+                continue;
+            }
+
+            UUID recipient = events.get(i).id();
+            try {
+                emails.add(email(template, events.get(i)));
+            } catch (RuntimeException e) {
+                release(template, held, List.of(recipient));
+                retryRecoverer.recover(accepted.get(i), e);
+                continue;
+            }
+            sending.add(accepted.get(i));
+            recipients.add(recipient);
+        }
+
+        if (emails.isEmpty()) {
+            return;
+        }
 
+        CreateBatchEmailsResponse response;
         try {
-            resend.emails().send(params);
-        } catch (ResendException e) {
-            throw new RuntimeException("Failed to send verification email", e);
+            response = resend.batch().send(emails);
+        } catch (ResendException | RuntimeException e) {
+            log.warn("Failed to send batch of {} emails: {}", emails.size(), e.getMessage());
+            release(template, held, recipients);
+            sending.forEach(message -> retryRecoverer.recover(message, e));
+            return;
         }
+
+        held.removeAll(recipients);
+
+        if (response != null && response.hasErrors()) {
+            for (BatchError error : response.getErrors()) {
+                if (error.getIndex() != null && error.getIndex() < sending.size()) {
+                    dedupeWindow.release(template, List.of(recipients.get(error.getIndex())));
+                    retryRecoverer.recover(sending.get(error.getIndex()),
+                            new RuntimeException("Failed to send verification email: " + error.getMessage()));
+                }
+            }
+        }
+    }
+
+    private void release(String template, List<UUID> held, List<UUID> recipients) {
+        dedupeWindow.release(template, recipients);
+        held.removeAll(recipients);
     }
 
 }
@@ -4,6 +4,8 @@ import org.springframework.amqp.core.*;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import com.auvexis.vanguard.shared.infrastructure.rabbitmq.RetryTopology;
+
 @Configuration
 public class AuthMessagingConfig {
 
@@ -24,6 +26,11 @@ public class AuthMessagingConfig {
                 .with("auth.user.email.verification");
     }
 
+    @Bean
+    public Declarables userEmailVerificationRetryTopology(RetryTopology retryTopology) {
+        return retryTopology.declare(AuthQueues.USER_EMAIL_VERIFICATION_QUEUE);
+    }
+
     @Bean
     public Queue userEmailVerificationResendQueue() {
         return QueueBuilder
@@ -41,4 +48,9 @@ public class AuthMessagingConfig {
                 .with("auth.user.email.verification.resend");
     }
 
+    @Bean
+    public Declarables userEmailVerificationResendRetryTopology(RetryTopology retryTopology) {
+        return retryTopology.declare(AuthQueues.USER_EMAIL_VERIFICATION_RESEND_QUEUE);
+    }
+
 }
@@ -0,0 +1,114 @@
+package com.auvexis.vanguard.modules.email.auth;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Consumer-side dedupe window for outgoing emails, keyed by event type and
+ * user id.
+ *
+ * The first email of a type for a user claims the key with SET NX PX; any
+ * other email of that type for the same user within the window, whether a
+ * repeated resend request or a redelivered message, is dropped. A claim is
+ * released when the send fails, so the retry tiers can still deliver it.
+ *
+ * If Redis is unavailable the window fails open: sending a duplicate is
+ * better than not sending at all.
+ */
+@Component
+public class EmailDedupeWindow {
+
+    public static final String KEY_PREFIX = "email:dedupe:";
+
+    private static final Logger log = LoggerFactory.getLogger(EmailDedupeWindow.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final Duration window;
+    private final Counter suppressed;
+
+    public EmailDedupeWindow(
+            StringRedisTemplate redisTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${vanguard.email.dedupe.window-ms:60000}") long windowMs) {
+        this.redisTemplate = redisTemplate;
+        this.window = Duration.ofMillis(windowMs);
+        this.suppressed = Counter.builder("vanguard.email.deduplicated")
+                .description("Emails dropped because one was already sent within the dedupe window")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Claims the window for each user with one pipelined round-trip. A user
+     * appearing twice in the list only gets the first claim.
+     *
+     * @return For each user, true if the email should be sent.
+     */
+    public boolean[] claim(String eventType, List<UUID> userIds) {
+        boolean[] claimed = new boolean[userIds.size()];
+        if (userIds.isEmpty() || window.isZero()) {
+            Arrays.fill(claimed, true);
+            return claimed;
+        }
+
+        List<Object> replies;
+        try {
+            replies = redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public <K, V> Object execute(@NonNull RedisOperations<K, V> operations) {
+                    RedisOperations<String, String> ops = (RedisOperations<String, String>) operations;
+                    for (UUID userId : userIds) {
+                        ops.opsForValue().setIfAbsent(key(eventType, userId), "1", window);
+                    }
+                    return null;
+                }
+            });
+        } catch (DataAccessException e) {
+            log.warn("Email dedupe window unavailable, sending without it: {}", e.getMessage());
+            Arrays.fill(claimed, true);
+            return claimed;
+        }
+
+        for (int i = 0; i < claimed.length; i++) {
+            claimed[i] = Boolean.TRUE.equals(replies.get(i));
+            if (!claimed[i]) {
+                suppressed.increment();
+            }
+        }
+        return claimed;
+    }
+
+    /**
+     * Releases claims whose email was not sent.
+     */
+    public void release(String eventType, List<UUID> userIds) {
+        if (userIds.isEmpty() || window.isZero()) {
+            return;
+        }
+
+        try {
+            redisTemplate.delete(userIds.stream().map(userId -> key(eventType, userId)).toList());
+        } catch (DataAccessException e) {
+            log.warn("Could not release email dedupe claims: {}", e.getMessage());
+        }
+    }
+
+    private static String key(String eventType, UUID userId) {
+        return KEY_PREFIX + eventType + ":" + userId;
+    }
+}
@@ -0,0 +1,86 @@
+package com.auvexis.vanguard.modules.email.template;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Template parsed into alternating literal and variable segments, so
+ * rendering is a single pass of appends with no parsing or regex work.
+ *
+ * {@code literals} always holds one more entry than {@code variables}:
+ * {@code literals[0] variables[0] literals[1] ... literals[n]}.
+ */
+final class CompiledTemplate {
+
+    private static final String OPEN = "{{";
+    private static final String CLOSE = "}}";
+
+    private final String[] literals;
+    private final String[] variables;
+    private final boolean html;
+
+    private CompiledTemplate(String[] literals, String[] variables, boolean html) {
+        this.literals = literals;
+        this.variables = variables;
+        this.html = html;
+    }
+
+    static CompiledTemplate compile(String source, boolean html) {
+        List<String> literals = new ArrayList<>();
+        List<String> variables = new ArrayList<>();
+
+        int position = 0;
+        while (true) {
+            int open = source.indexOf(OPEN, position);
+            if (open < 0) {
+                break;
+            }
+            int close = source.indexOf(CLOSE, open + OPEN.length());
+            if (close < 0) {
+                throw new IllegalArgumentException("Unclosed variable at offset " + open);
+            }
+
+            literals.add(source.substring(position, open));
+            variables.add(source.substring(open + OPEN.length(), close).trim());
+            position = close + CLOSE.length();
+        }
+        literals.add(source.substring(position));
+
+        return new CompiledTemplate(literals.toArray(String[]::new), variables.toArray(String[]::new), html);
+    }
+
+    /**
+     * Appends the rendered template to {@code out}. Variable values are
+     * HTML-escaped in HTML templates.
+     */
+    void renderTo(StringBuilder out, TemplateModel model) {
+        for (int i = 0; i < variables.length; i++) {
+            out.append(literals[i]);
+
+            String value = model.get(variables[i]);
+            if (value == null) {
+                throw new IllegalArgumentException("No value for template variable '" + variables[i] + "'");
+            }
+            if (html) {
+                escapeHtml(value, out);
+            } else {
+                out.append(value);
+            }
+        }
+        out.append(literals[variables.length]);
+    }
+
+    private static void escapeHtml(String value, StringBuilder out) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '&' -> out.append("&amp;");
+                case '<' -> out.append("&lt;");
+                case '>' -> out.append("&gt;");
+                case '"' -> out.append("&quot;");
+                case '\'' -> out.append("&#39;");
+                default -> out.append(c);
+            }
+        }
+    }
+}
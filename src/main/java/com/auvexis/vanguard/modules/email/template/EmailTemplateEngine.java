@@ -0,0 +1,124 @@
+package com.auvexis.vanguard.modules.email.template;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.stereotype.Component;
+
+/**
+ * Renders transactional emails from templates under
+ * {@code templates/email/<locale>/}.
+ *
+ * Each email is a set of files sharing a name: {@code <name>.subject},
+ * {@code <name>.html} and {@code <name>.txt}. Variables are written as
+ * {@code {{variable}}}. All templates are parsed once at startup; rendering
+ * only appends precompiled segments into a per-thread buffer.
+ *
+ * Locales fall back from {@code language_COUNTRY} to {@code language} to the
+ * default locale. Directory names may use {@code _} or {@code -}; both sides
+ * are compared as lower-case language tags.
+ */
+@Component
+public class EmailTemplateEngine {
+
+    private static final String LOCATION = "classpath*:templates/email/*/*";
+
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(1024));
+
+    private final Map<String, EmailTemplate> templates;
+    private final Locale defaultLocale;
+
+    public EmailTemplateEngine(@Value("${vanguard.email.default-locale:en}") String defaultLocale) {
+        this.defaultLocale = Locale.forLanguageTag(defaultLocale);
+        try {
+            this.templates = load();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not load email templates", e);
+        }
+    }
+
+    /**
+     * @param name   The template name, e.g. {@code verification}.
+     * @param locale The preferred locale, or null for the default.
+     */
+    public RenderedEmail render(String name, Locale locale, TemplateModel model) {
+        EmailTemplate template = resolve(name, locale != null ? locale : defaultLocale);
+
+        return new RenderedEmail(
+                render(template.subject(), model).strip(),
+                render(template.html(), model),
+                render(template.text(), model));
+    }
+
+    private EmailTemplate resolve(String name, Locale locale) {
+        EmailTemplate template = templates.get(key(locale.toLanguageTag(), name));
+        if (template == null) {
+            template = templates.get(key(locale.getLanguage(), name));
+        }
+        if (template == null) {
+            template = templates.get(key(defaultLocale.toLanguageTag(), name));
+        }
+        if (template == null) {
+            throw new IllegalArgumentException("No email template '" + name + "' for locale " + locale);
+        }
+        return template;
+    }
+
+    private static String render(CompiledTemplate template, TemplateModel model) {
+        StringBuilder buffer = BUFFER.get();
+        buffer.setLength(0);
+        template.renderTo(buffer, model);
+        return buffer.toString();
+    }
+
+    private static Map<String, EmailTemplate> load() throws IOException {
+        Map<String, Map<String, CompiledTemplate>> parts = new HashMap<>();
+
+        for (Resource resource : new PathMatchingResourcePatternResolver().getResources(LOCATION)) {
+            String filename = resource.getFilename();
+            if (filename == null || filename.indexOf('.') < 0) {
+                continue;
+            }
+
+            String path = resource.getURL().getPath();
+            String parent = path.substring(0, path.length() - filename.length() - 1);
+            String locale = parent.substring(parent.lastIndexOf('/') + 1);
+
+            String name = filename.substring(0, filename.lastIndexOf('.'));
+            String part = filename.substring(filename.lastIndexOf('.') + 1);
+
+            try (InputStream in = resource.getInputStream()) {
+                String source = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+                parts.computeIfAbsent(key(locale, name), k -> new HashMap<>())
+                        .put(part, CompiledTemplate.compile(source, part.equals("html")));
+            }
+        }
+
+        Map<String, EmailTemplate> templates = new HashMap<>();
+        parts.forEach((key, files) -> {
+            if (!files.containsKey("subject") || !files.containsKey("html") || !files.containsKey("txt")) {
+                throw new IllegalStateException("Email template " + key + " needs .subject, .html and .txt files");
+            }
+            templates.put(key, new EmailTemplate(files.get("subject"), files.get("html"), files.get("txt")));
+        });
+        return Map.copyOf(templates);
+    }
+
+    private static String key(String locale, String name) {
+        return locale.replace('_', '-').toLowerCase(Locale.ROOT) + "/" + name;
+    }
+
+    private record EmailTemplate(
+            CompiledTemplate subject,
+            CompiledTemplate html,
+            CompiledTemplate text) {
+    }
+}
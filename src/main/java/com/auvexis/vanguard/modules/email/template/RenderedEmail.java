@@ -0,0 +1,7 @@
+package com.auvexis.vanguard.modules.email.template;
+
+public record RenderedEmail(
+        String subject,
+        String html,
+        String text) {
+}
@@ -0,0 +1,13 @@
+package com.auvexis.vanguard.modules.email.template;
+
+/**
+ * Supplies the values of template variables at render time.
+ */
+@FunctionalInterface
+public interface TemplateModel {
+
+    /**
+     * @return The value of the variable, or null if the model does not define it.
+     */
+    String get(String variable);
+}
@@ -0,0 +1,48 @@
+package com.auvexis.vanguard.modules.email.web;
+
+import java.util.Map;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.auvexis.vanguard.shared.infrastructure.rabbitmq.DeadLetterService;
+import com.auvexis.vanguard.shared.web.ApiResponse;
+
+/**
+ * Administrative endpoints for messages that exhausted their retries.
+ * Restricted to system administrators by the {@code /api/v1/admin/**} rule.
+ */
+@RestController
+@RequestMapping("/api/v1/admin/dead-letters")
+public class DeadLetterController {
+
+    private final DeadLetterService deadLetterService;
+
+    public DeadLetterController(DeadLetterService deadLetterService) {
+        this.deadLetterService = deadLetterService;
+    }
+
+    @GetMapping
+    public ApiResponse<Map<String, Integer>> counts() {
+        return ApiResponse.ok("Dead letter counts fetched successfully", deadLetterService.counts());
+    }
+
+    /**
+     * Sends dead-lettered messages of a queue back for processing.
+     */
+    @PostMapping("/{queue}/replay")
+    public ApiResponse<Integer> replay(
+            @PathVariable String queue,
+            @RequestParam(defaultValue = "100") int limit) {
+        try {
+            int replayed = deadLetterService.replay(queue, limit);
+            return ApiResponse.ok("Dead letters replayed successfully", replayed);
+        } catch (IllegalArgumentException e) {
+            return ApiResponse.error_generic(404, null, e.getMessage());
+        }
+    }
+}
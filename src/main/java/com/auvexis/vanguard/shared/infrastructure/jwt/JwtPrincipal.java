@@ -0,0 +1,19 @@
+package com.auvexis.vanguard.shared.infrastructure.jwt;
+
+import java.time.Instant;
+
+import com.auvexis.vanguard.modules.auth.domain.SystemRole;
+
+/**
+ * Authenticated principal extracted from a verified access token.
+ * Built once per request by the JWT filter and stored in the security context,
+ * so controllers can read claims without decoding the token again.
+ */
+public record JwtPrincipal(
+        String subject,
+        String email,
+        SystemRole role,
+        boolean emailVerified,
+        String tokenId,
+        Instant expiresAt) {
+}
@@ -1,37 +1,41 @@
 package com.auvexis.vanguard.shared.infrastructure.jwt;
 
+import java.security.SecureRandom;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.Base64;
 import java.util.Date;
-import java.util.Objects;
+import java.util.Optional;
 import java.util.UUID;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
 import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.exceptions.JWTVerificationException;
 import com.auth0.jwt.interfaces.DecodedJWT;
-import com.auvexis.vanguard.modules.auth.application.exception.RefreshTokenExpiredException;
-import com.auvexis.vanguard.modules.auth.domain.RefreshToken;
+import com.auvexis.vanguard.modules.auth.domain.SystemRole;
 import com.auvexis.vanguard.modules.auth.domain.User;
-import com.auvexis.vanguard.modules.auth.infrastructure.repository.RefreshTokenRepository;
-import com.auvexis.vanguard.shared.infrastructure.redis.RedisService;
+import com.auvexis.vanguard.modules.auth.infrastructure.repository.RefreshTokenStore;
+import com.auvexis.vanguard.modules.auth.infrastructure.repository.RefreshTokenStore.RefreshTokenRotation;
+import com.auvexis.vanguard.modules.auth.infrastructure.repository.UserClaims;
+
+import jakarta.annotation.PostConstruct;
 
 /**
  * Service responsible for JWT (JSON Web Token) lifecycle management.
- * Handles access token generation, refresh token persistence, and token
- * blacklisting using Redis.
+ * Handles access token generation, refresh token persistence (through the
+ * configured {@link RefreshTokenStore}), and token blacklisting using Redis.
  * This service ensures stateless authentication and provides utilities for
  * claim extraction.
  */
 @Service
 public class JwtService {
 
-    @Value("${auth.jwt.secret}")
-    private String secret;
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final Base64.Encoder TOKEN_ID_ENCODER = Base64.getUrlEncoder().withoutPadding();
 
     @Value("${auth.jwt.expiration-ms}")
     private long jwtExpirationMs;
@@ -39,69 +43,164 @@ public class JwtService {
     @Value("${auth.jwt.refresh-expiration-ms}")
     private long refreshExpirationMs;
 
-    private final RefreshTokenRepository refreshTokenRepository;
-    private final RedisService redisService;
+    private final RefreshTokenStore refreshTokenStore;
+    private final TokenRevocationStore revocationStore;
+    private final LocalTokenBlacklist localBlacklist;
+    private final JwtSigningKeys signingKeys;
+
+    /**
+     * Both are immutable and thread-safe, so they are built once and shared by
+     * every request instead of being recreated for each sign/verify call.
+     */
+    private Algorithm algorithm;
+    private JWTVerifier verifier;
+
+    public JwtService(
+            RefreshTokenStore refreshTokenStore,
+            TokenRevocationStore revocationStore,
+            LocalTokenBlacklist localBlacklist,
+            JwtSigningKeys signingKeys) {
+        this.refreshTokenStore = refreshTokenStore;
+        this.revocationStore = revocationStore;
+        this.localBlacklist = localBlacklist;
+        this.signingKeys = signingKeys;
+    }
 
-    public JwtService(RefreshTokenRepository refreshTokenRepository, RedisService redisService) {
-        this.refreshTokenRepository = refreshTokenRepository;
-        this.redisService = redisService;
+    @PostConstruct
+    void init() {
+        this.algorithm = signingKeys.algorithm();
+        this.verifier = JWT.require(algorithm).build();
     }
 
     /**
      * Generates a signed JWT access token for a given user.
-     * Claims included: subject (ID), email, role, and email verification status.
+     * Claims included: token id (jti), subject (ID), email, role, and email
+     * verification status.
      * 
      * @param user The authenticated user entity.
      * @return A signed JWT string.
      */
     public String generateAccessToken(User user) {
+        return generateAccessToken(user.getId(), user.getEmail(), user.getSystemRole(), user.isEmailVerified());
+    }
+
+    public String generateAccessToken(UserClaims claims) {
+        return generateAccessToken(claims.id(), claims.email(), claims.systemRole(), claims.emailVerified());
+    }
+
+    /**
+     * Generates a signed JWT access token from the user's claims, for callers
+     * that did not load the full entity.
+     */
+    public String generateAccessToken(UUID userId, String email, SystemRole role, boolean emailVerified) {
         return JWT.create()
-                .withSubject(user.getId().toString())
-                .withClaim("user_email", user.getEmail())
-                .withClaim("role", user.getSystemRole().name())
-                .withClaim("email_verified", user.isEmailVerified())
+                .withJWTId(newTokenId())
+                .withSubject(userId.toString())
+                .withClaim("user_email", email)
+                .withClaim("role", role.name())
+                .withClaim("email_verified", emailVerified)
                 .withIssuedAt(new Date())
                 .withExpiresAt(new Date(System.currentTimeMillis() + jwtExpirationMs))
-                .sign(Algorithm.HMAC256(secret));
+                .sign(algorithm);
     }
 
     /**
      * Creates and persists a new refresh token for the user.
-     * Any existing refresh tokens for the user are invalidated before creating a
-     * new one.
+     * Any existing refresh tokens for the user are replaced by the new one.
      * 
-     * @param user The target user for the refresh token.
-     * @return The newly created and persisted RefreshToken entity.
+     * @param userId The target user for the refresh token.
+     * @return The newly created refresh token.
      */
-    @Transactional
-    public RefreshToken createRefreshToken(User user) {
-        /**
-         * Delete old refresh token for this user
-         */
-        refreshTokenRepository.deleteByUser(user);
-
-        RefreshToken refreshToken = new RefreshToken();
-        refreshToken.setUser(user);
-        refreshToken.setExpiryDate(Instant.now().plusMillis(refreshExpirationMs));
-        refreshToken.setToken(UUID.randomUUID().toString());
-
-        return refreshTokenRepository.save(refreshToken);
+    public String createRefreshToken(UUID userId) {
+        String token = UUID.randomUUID().toString();
+        refreshTokenStore.create(userId, token, Duration.ofMillis(refreshExpirationMs));
+        return token;
     }
 
-    public java.util.Optional<RefreshToken> findByToken(String token) {
-        return refreshTokenRepository.findByToken(token);
+    /**
+     * Exchanges a valid refresh token for a new one, invalidating the old token.
+     * 
+     * @param token The refresh token presented by the client.
+     * @return The owner and the new refresh token, or empty if the token is
+     *         unknown.
+     */
+    public Optional<RefreshTokenRotation> rotateRefreshToken(String token) {
+        return refreshTokenStore.rotate(
+                token,
+                UUID.randomUUID().toString(),
+                Duration.ofMillis(refreshExpirationMs));
     }
 
     public DecodedJWT validateToken(String token) {
         try {
-            return JWT.require(Algorithm.HMAC256(secret))
-                    .build()
-                    .verify(token);
+            return verifier.verify(token);
         } catch (JWTVerificationException e) {
             return null;
         }
     }
 
+    /**
+     * Verifies an access token and extracts all the claims needed to
+     * authenticate the request in a single pass.
+     * 
+     * @param token The raw JWT access token (without the Bearer prefix).
+     * @return The principal carried by the token, or null if the token is invalid.
+     */
+    public JwtPrincipal parseAccessToken(String token) {
+        DecodedJWT jwt = validateToken(token);
+        if (jwt == null) {
+            return null;
+        }
+
+        String email = jwt.getClaim("user_email").asString();
+        String role = jwt.getClaim("role").asString();
+        if (email == null || role == null || jwt.getExpiresAt() == null) {
+            return null;
+        }
+
+        SystemRole systemRole;
+        try {
+            systemRole = SystemRole.valueOf(role);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+
+        Boolean emailVerified = jwt.getClaim("email_verified").asBoolean();
+        return new JwtPrincipal(
+                jwt.getSubject(),
+                email,
+                systemRole,
+                emailVerified != null && emailVerified,
+                tokenIdOf(jwt),
+                jwt.getExpiresAtAsInstant());
+    }
+
+    /**
+     * Resolves the id under which a token is revoked: its jti claim, or the
+     * full token for tokens issued before jti was added, which is the key
+     * older releases revoked them under.
+     */
+    private static String tokenIdOf(DecodedJWT jwt) {
+        String jti = jwt.getId();
+        return jti != null ? jti : jwt.getToken();
+    }
+
+    /**
+     * Full tokens always contain dots; generated ids never do.
+     */
+    private static boolean isLegacyTokenId(String tokenId) {
+        return tokenId.indexOf('.') >= 0;
+    }
+
+    /**
+     * 128 random bits encoded as 22 URL-safe characters.
+     */
+    private static String newTokenId() {
+        byte[] bytes = new byte[16];
+        RANDOM.nextBytes(bytes);
+        return TOKEN_ID_ENCODER.encodeToString(bytes);
+    }
+
     public String getIdFromToken(String token) {
         DecodedJWT jwt = validateToken(token);
         return jwt != null ? jwt.getSubject() : null;
@@ -122,17 +221,8 @@ public class JwtService {
         return jwt != null ? jwt.getClaim("email_verified").asBoolean() : false;
     }
 
-    public RefreshToken verifyRefreshTokenExpiration(RefreshToken token) {
-        if (token.getExpiryDate().isBefore(Instant.now())) {
-            refreshTokenRepository.delete(token);
-            throw new RefreshTokenExpiredException("Refresh token was expired. Please make a new signin request");
-        }
-        return token;
-    }
-
-    @Transactional
     public void deleteRefreshTokenByUser(User user) {
-        refreshTokenRepository.deleteByUser(user);
+        refreshTokenStore.revokeAll(user);
     }
 
     /**
@@ -143,36 +233,24 @@ public class JwtService {
      * @param token The JWT access token to blacklist.
      */
     public void addToBlackList(String token) {
-        String key = "auth:tokens:blacklist:" + token;
-
-        /**
-         * Get the remaining time of the token
-         */
-        DecodedJWT decodedJWT = validateToken(token);
-        if (decodedJWT == null) {
+        JwtPrincipal principal = parseAccessToken(token);
+        if (principal == null || principal.expiresAt() == null) {
             return;
         }
 
-        long remainingTime = decodedJWT.getExpiresAt().getTime()
-                - System.currentTimeMillis();
-
         /**
          * If the token is expired, do not add it to the blacklist
          */
-        if (remainingTime <= 0) {
+        if (!principal.expiresAt().isAfter(Instant.now())) {
             return;
         }
 
-        Duration ttl = Objects.requireNonNull(Duration.ofMillis(remainingTime));
+        revocationStore.revoke(principal.tokenId(), principal.expiresAt());
 
         /**
-         * Value is True because we only need to check if the token exists in the
-         * blacklist
+         * Make the revocation visible to the local filters of every node
          */
-        redisService.set(
-                key,
-                true,
-                ttl);
+        localBlacklist.publish(principal.tokenId());
     }
 
     /**
@@ -188,8 +266,23 @@ public class JwtService {
         this.addToBlackList(pureToken);
     }
 
-    public boolean isTokenBlacklisted(String token) {
-        String key = "auth:tokens:blacklist:" + token;
-        return redisService.get(key) != null;
+    /**
+     * Checks whether an access token has been revoked.
+     * The local filter answers the common "never revoked" case without a
+     * network round-trip; only possible hits are confirmed against Redis.
+     *
+     * Tokens without a jti skip the filter, because older releases still
+     * running during a rollout revoke them without notifying it. They all
+     * expire within one access token lifetime of the rollout.
+     *
+     * @param principal The verified principal of the access token to check.
+     * @return true if the token is present in the Redis blacklist.
+     */
+    public boolean isTokenBlacklisted(JwtPrincipal principal) {
+        if (!isLegacyTokenId(principal.tokenId()) && !localBlacklist.mightContain(principal.tokenId())) {
+            return false;
+        }
+
+        return revocationStore.isRevoked(principal.tokenId(), principal.expiresAt());
     }
 }
@@ -0,0 +1,191 @@
+package com.auvexis.vanguard.shared.infrastructure.jwt;
+
+import java.math.BigInteger;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.ECPrivateKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.interfaces.ECDSAKeyProvider;
+
+/**
+ * Holds the key material used to sign and verify access tokens and publishes
+ * the public half as a JSON Web Key Set, so other services can verify tokens
+ * locally without calling Vanguard or sharing a secret.
+ */
+@Component
+public class JwtSigningKeys {
+
+    private static final Logger log = LoggerFactory.getLogger(JwtSigningKeys.class);
+    private static final Base64.Encoder JWK_ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private final Algorithm algorithm;
+    private final Map<String, Object> jwks;
+
+    public JwtSigningKeys(
+            @Value("${auth.jwt.secret}") String secret,
+            JwtSigningProperties properties) {
+        if ("ES256".equalsIgnoreCase(properties.algorithm())) {
+            Map<String, ECPublicKey> publicKeys = new LinkedHashMap<>();
+            ECPrivateKey activeKey = loadEcKeys(properties, publicKeys);
+            String activeKeyId = activeKey != null ? properties.activeKeyId() : null;
+
+            if (activeKey == null) {
+                /**
+                 * A per-node key would make tokens fail on every other node and
+                 * after each restart, so it has to be asked for explicitly
+                 */
+                if (!properties.ephemeralKey()) {
+                    throw new IllegalStateException("ES256 signing needs auth.jwt.signing.active-key-id and "
+                            + "auth.jwt.signing.keys; set auth.jwt.signing.ephemeral-key=true to use a "
+                            + "throwaway key in development");
+                }
+                log.warn("Using an ephemeral ES256 signing key. "
+                        + "Tokens will not survive a restart and are only valid on this node.");
+                KeyPair keyPair = generateEcKeyPair();
+                activeKeyId = "ephemeral-" + UUID.randomUUID();
+                activeKey = (ECPrivateKey) keyPair.getPrivate();
+                publicKeys.put(activeKeyId, (ECPublicKey) keyPair.getPublic());
+            }
+
+            this.algorithm = Algorithm.ECDSA256(keyProvider(publicKeys, activeKey, activeKeyId));
+            this.jwks = buildJwks(publicKeys);
+        } else if ("HS256".equalsIgnoreCase(properties.algorithm())) {
+            this.algorithm = Algorithm.HMAC256(secret);
+            /**
+             * Symmetric keys must never be published
+             */
+            this.jwks = Map.of("keys", List.of());
+        } else {
+            throw new IllegalStateException("Unsupported JWT signing algorithm: " + properties.algorithm());
+        }
+    }
+
+    public Algorithm algorithm() {
+        return algorithm;
+    }
+
+    /**
+     * @return The JWKS document, built once at startup.
+     */
+    public Map<String, Object> jwks() {
+        return jwks;
+    }
+
+    private static ECPrivateKey loadEcKeys(JwtSigningProperties properties, Map<String, ECPublicKey> publicKeys) {
+        ECPrivateKey activeKey = null;
+
+        try {
+            KeyFactory keyFactory = KeyFactory.getInstance("EC");
+            for (JwtSigningProperties.Key key : properties.keys()) {
+                if (key.publicKey() != null) {
+                    publicKeys.put(key.id(), (ECPublicKey) keyFactory
+                            .generatePublic(new X509EncodedKeySpec(decodeKey(key.publicKey()))));
+                }
+                if (key.id().equals(properties.activeKeyId()) && key.privateKey() != null) {
+                    activeKey = (ECPrivateKey) keyFactory
+                            .generatePrivate(new PKCS8EncodedKeySpec(decodeKey(key.privateKey())));
+                }
+            }
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            throw new IllegalStateException("Invalid JWT signing key configuration", e);
+        }
+
+        if (properties.activeKeyId() != null && activeKey == null) {
+            throw new IllegalStateException("No private key configured for active key " + properties.activeKeyId());
+        }
+        if (activeKey != null && !publicKeys.containsKey(properties.activeKeyId())) {
+            throw new IllegalStateException("No public key configured for active key " + properties.activeKeyId());
+        }
+
+        return activeKey;
+    }
+
+    private static ECDSAKeyProvider keyProvider(
+            Map<String, ECPublicKey> publicKeys,
+            ECPrivateKey activeKey,
+            String activeKeyId) {
+        Map<String, ECPublicKey> keys = Collections.unmodifiableMap(new LinkedHashMap<>(publicKeys));
+
+        return new ECDSAKeyProvider() {
+            @Override
+            public ECPublicKey getPublicKeyById(String keyId) {
+                return keys.get(keyId != null ? keyId : activeKeyId);
+            }
+
+            @Override
+            public ECPrivateKey getPrivateKey() {
+                return activeKey;
+            }
+
+            @Override
+            public String getPrivateKeyId() {
+                return activeKeyId;
+            }
+        };
+    }
+
+    private static Map<String, Object> buildJwks(Map<String, ECPublicKey> publicKeys) {
+        List<Map<String, String>> keys = new ArrayList<>();
+
+        publicKeys.forEach((keyId, publicKey) -> {
+            Map<String, String> jwk = new LinkedHashMap<>();
+            jwk.put("kty", "EC");
+            jwk.put("crv", "P-256");
+            jwk.put("use", "sig");
+            jwk.put("alg", "ES256");
+            jwk.put("kid", keyId);
+            jwk.put("x", encodeCoordinate(publicKey.getW().getAffineX()));
+            jwk.put("y", encodeCoordinate(publicKey.getW().getAffineY()));
+            keys.add(Collections.unmodifiableMap(jwk));
+        });
+
+        return Map.of("keys", List.copyOf(keys));
+    }
+
+    /**
+     * JWK coordinates are unsigned big-endian values padded to the field size.
+     */
+    private static String encodeCoordinate(BigInteger coordinate) {
+        byte[] bytes = coordinate.toByteArray();
+        byte[] padded = new byte[32];
+        int length = Math.min(bytes.length, 32);
+        System.arraycopy(bytes, bytes.length - length, padded, 32 - length, length);
+        return JWK_ENCODER.encodeToString(padded);
+    }
+
+    private static byte[] decodeKey(String encoded) {
+        String base64 = encoded
+                .replaceAll("-----(BEGIN|END) [A-Z ]+-----", "")
+                .replaceAll("\\s", "");
+        return Base64.getDecoder().decode(base64);
+    }
+
+    private static KeyPair generateEcKeyPair() {
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+            generator.initialize(new ECGenParameterSpec("secp256r1"));
+            return generator.generateKeyPair();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to generate EC key pair", e);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.auvexis.vanguard.shared.infrastructure.jwt;
+
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Signing configuration for access tokens.
+ *
+ * With {@code HS256} (default) tokens are signed with {@code auth.jwt.secret}.
+ * With {@code ES256} the key whose id matches {@code activeKeyId} signs new
+ * tokens, while every configured key verifies them, so keys can be rotated by
+ * adding the new key, switching the active id, and removing the old key once
+ * its last tokens have expired.
+ *
+ * ES256 without a configured active key fails startup, unless
+ * {@code ephemeralKey} is set: a throwaway key is then generated per node and
+ * per start, which only suits single-node development.
+ *
+ * @param algorithm    The signing algorithm, {@code HS256} or {@code ES256}.
+ * @param activeKeyId  The id (kid) of the key used to sign new tokens.
+ * @param keys         The EC P-256 keys; retired keys only need a public key.
+ * @param ephemeralKey Whether ES256 may fall back to a generated key.
+ */
+@ConfigurationProperties(prefix = "auth.jwt.signing")
+public record JwtSigningProperties(
+        @DefaultValue("HS256") String algorithm,
+        String activeKeyId,
+        @DefaultValue List<Key> keys,
+        @DefaultValue("false") boolean ephemeralKey) {
+
+    /**
+     * @param id         The key id published as {@code kid}.
+     * @param privateKey Base64 or PEM encoded PKCS#8 private key.
+     * @param publicKey  Base64 or PEM encoded X.509 public key.
+     */
+    public record Key(
+            String id,
+            String privateKey,
+            String publicKey) {
+    }
+}
@@ -0,0 +1,135 @@
+package com.auvexis.vanguard.shared.infrastructure.jwt;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.SubscriptionListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.lang.NonNull;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-process probabilistic view of the Redis access token blacklist.
+ * Lets the request path skip the Redis lookup for tokens that are definitely
+ * not revoked, which is the overwhelming majority of authenticated requests.
+ *
+ * Entries are kept in two Bloom filter generations rotated every access token
+ * TTL, so a revocation stays visible for at least as long as the token itself
+ * can be used. Revocations made on other nodes arrive through Redis pub/sub,
+ * and the filter is seeded from the existing revocations on startup. Until
+ * seeding succeeds every lookup is reported as a possible hit.
+ *
+ * Pub/sub is fire-and-forget, so messages published while the subscription
+ * was down are lost. Every (re)subscription therefore marks the filter as
+ * unseeded until it has been seeded again, and each rotation reseeds the new
+ * generation, which bounds the effect of any other lost message.
+ */
+@Component
+public class LocalTokenBlacklist implements MessageListener, SubscriptionListener {
+
+    public static final String CHANNEL = "auth:tokens:blacklist:events";
+
+    private static final Logger log = LoggerFactory.getLogger(LocalTokenBlacklist.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final TokenRevocationStore revocationStore;
+    private final long expectedInsertions;
+    private final double falsePositiveRate;
+
+    private volatile BloomFilter current;
+    private volatile BloomFilter previous;
+    private volatile boolean seeded = false;
+
+    /**
+     * Bumped on every subscription, so a seed that started before a
+     * resubscription does not mark the filter as seeded.
+     */
+    private final AtomicLong subscriptions = new AtomicLong();
+
+    public LocalTokenBlacklist(
+            StringRedisTemplate redisTemplate,
+            TokenRevocationStore revocationStore,
+            RedisMessageListenerContainer listenerContainer,
+            @Value("${auth.jwt.blacklist.filter.expected-insertions:100000}") long expectedInsertions,
+            @Value("${auth.jwt.blacklist.filter.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.redisTemplate = redisTemplate;
+        this.revocationStore = revocationStore;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.current = new BloomFilter(expectedInsertions, falsePositiveRate);
+        this.previous = new BloomFilter(expectedInsertions, falsePositiveRate);
+
+        listenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+    }
+
+    /**
+     * @return false only if the id is definitely not blacklisted.
+     */
+    public boolean mightContain(String id) {
+        if (!seeded) {
+            return true;
+        }
+        return current.mightContain(id) || previous.mightContain(id);
+    }
+
+    /**
+     * Records a revocation locally and announces it to the other nodes.
+     */
+    public void publish(String id) {
+        current.put(id);
+        redisTemplate.convertAndSend(CHANNEL, id);
+    }
+
+    @Override
+    public void onMessage(@NonNull Message message, byte[] pattern) {
+        current.put(new String(message.getBody(), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Called on the initial subscription and again whenever the connection
+     * resubscribes after a reconnect. Runs on the Redis I/O thread, so the
+     * reseed itself is left to {@link #reseedIfNeeded()}.
+     */
+    @Override
+    public void onChannelSubscribed(@NonNull byte[] channel, long count) {
+        subscriptions.incrementAndGet();
+        seeded = false;
+    }
+
+    @Scheduled(fixedRateString = "${auth.jwt.expiration-ms}", initialDelayString = "${auth.jwt.expiration-ms}")
+    public void rotate() {
+        previous = current;
+        current = new BloomFilter(expectedInsertions, falsePositiveRate);
+
+        seed();
+    }
+
+    @Scheduled(fixedDelayString = "${auth.jwt.blacklist.filter.reseed-check-ms:5000}")
+    public void reseedIfNeeded() {
+        if (!seeded) {
+            seed();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        long subscription = subscriptions.get();
+        try {
+            BloomFilter target = current;
+            revocationStore.forEachRevoked(target::put);
+            seeded = subscription == subscriptions.get();
+        } catch (Exception e) {
+            log.error("Failed to seed local token blacklist, falling back to Redis lookups: {}", e.getMessage());
+        }
+    }
+}
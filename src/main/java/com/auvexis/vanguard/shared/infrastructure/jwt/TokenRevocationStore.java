@@ -0,0 +1,114 @@
+package com.auvexis.vanguard.shared.infrastructure.jwt;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.auvexis.vanguard.shared.infrastructure.redis.RedisService;
+
+/**
+ * Redis persistence for revoked access tokens, keyed by the compact token id
+ * (jti) rather than the full JWT. Tokens issued before jti was added keep
+ * their full JWT as id, so revocations stored by older releases still match.
+ *
+ * Two layouts are supported:
+ * - per-token keys (default): one key per revoked token with its own TTL.
+ * - time buckets: revoked ids are grouped into sets by token expiry, so expiry
+ * is one key per bucket instead of one TTL per token.
+ */
+@Component
+public class TokenRevocationStore {
+
+    public static final String KEY_PREFIX = "auth:tokens:blacklist:";
+    public static final String BUCKET_PREFIX = "auth:tokens:blacklist-buckets:";
+
+    private final RedisService redisService;
+    private final boolean bucketed;
+    private final long bucketSeconds;
+
+    public TokenRevocationStore(
+            RedisService redisService,
+            @Value("${auth.jwt.blacklist.bucketed:false}") boolean bucketed,
+            @Value("${auth.jwt.blacklist.bucket-seconds:300}") long bucketSeconds) {
+        this.redisService = redisService;
+        this.bucketed = bucketed;
+        this.bucketSeconds = bucketSeconds;
+    }
+
+    /**
+     * Persists a revocation until the token's own expiration time.
+     *
+     * @param tokenId   The revocation id of the token.
+     * @param expiresAt The expiration time of the token.
+     */
+    public void revoke(String tokenId, Instant expiresAt) {
+        long remainingTime = expiresAt.toEpochMilli() - System.currentTimeMillis();
+
+        /**
+         * If the token is expired, do not add it to the blacklist
+         */
+        if (remainingTime <= 0) {
+            return;
+        }
+
+        if (bucketed) {
+            long bucket = bucketOf(expiresAt);
+            String key = BUCKET_PREFIX + bucket;
+            Instant bucketExpiry = Instant.ofEpochSecond(bucket * bucketSeconds);
+
+            /**
+             * Add and expire in one round-trip
+             */
+            redisService.pipelined(operations -> {
+                operations.opsForSet().add(key, tokenId);
+                operations.expireAt(key, bucketExpiry);
+            });
+            return;
+        }
+
+        /**
+         * Value is True because we only need to check if the token exists in the
+         * blacklist
+         */
+        redisService.set(
+                KEY_PREFIX + tokenId,
+                true,
+                Objects.requireNonNull(Duration.ofMillis(remainingTime)));
+    }
+
+    public boolean isRevoked(String tokenId, Instant expiresAt) {
+        if (bucketed) {
+            return redisService.isSetMember(BUCKET_PREFIX + bucketOf(expiresAt), tokenId);
+        }
+        return redisService.get(KEY_PREFIX + tokenId) != null;
+    }
+
+    /**
+     * Streams every currently revoked token id, used to warm local filters.
+     */
+    public void forEachRevoked(Consumer<String> consumer) {
+        if (bucketed) {
+            redisService.scanKeys(BUCKET_PREFIX + "*", key -> {
+                Set<Object> members = redisService.getSetMembers(key);
+                if (members != null) {
+                    members.forEach(member -> consumer.accept(member.toString()));
+                }
+            });
+            return;
+        }
+        redisService.scanKeys(KEY_PREFIX + "*", key -> consumer.accept(key.substring(KEY_PREFIX.length())));
+    }
+
+    /**
+     * Buckets are identified by the end of their time window, so a bucket can
+     * expire as soon as its window closes.
+     */
+    private long bucketOf(Instant expiresAt) {
+        return Math.floorDiv(expiresAt.getEpochSecond(), bucketSeconds) + 1;
+    }
+}
@@ -0,0 +1,208 @@
+package com.auvexis.vanguard.shared.infrastructure.rabbitmq;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Asynchronous RabbitMQ publisher with correlated publisher confirms.
+ *
+ * Messages are buffered and sent by a single sender thread in batches of up
+ * to {@code batch-size} messages, or whatever arrived within
+ * {@code linger-ms}, each batch on one channel. Every message gets its own
+ * future. The future completes when the broker acks the message. It fails when
+ * the broker nacks it, returns it as unroutable, or does not confirm it in
+ * time.
+ *
+ * Backpressure: at most {@code max-in-flight} messages may be unconfirmed at
+ * once. When the broker slows down the sender stops, the bounded buffer fills
+ * up, and {@link #publish} waits up to {@code offer-timeout-ms} before
+ * rejecting new messages.
+ */
+@Component
+public class BatchingRabbitPublisher {
+
+    private static final Logger log = LoggerFactory.getLogger(BatchingRabbitPublisher.class);
+
+    private final RabbitTemplate rabbitTemplate;
+    private final BlockingQueue<Pending> buffer;
+    private final Semaphore inFlight;
+    private final int batchSize;
+    private final long lingerMs;
+    private final long offerTimeoutMs;
+    private final long confirmTimeoutMs;
+    private final Counter rejected;
+
+    private volatile boolean running;
+    private Thread sender;
+
+    public BatchingRabbitPublisher(
+            RabbitTemplate rabbitTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${vanguard.messaging.publisher.batch-size:50}") int batchSize,
+            @Value("${vanguard.messaging.publisher.linger-ms:5}") long lingerMs,
+            @Value("${vanguard.messaging.publisher.buffer-capacity:10000}") int bufferCapacity,
+            @Value("${vanguard.messaging.publisher.max-in-flight:1000}") int maxInFlight,
+            @Value("${vanguard.messaging.publisher.offer-timeout-ms:1000}") long offerTimeoutMs,
+            @Value("${vanguard.messaging.publisher.confirm-timeout-ms:5000}") long confirmTimeoutMs) {
+        this.rabbitTemplate = rabbitTemplate;
+        this.buffer = new ArrayBlockingQueue<>(bufferCapacity);
+        this.inFlight = new Semaphore(maxInFlight);
+        this.batchSize = batchSize;
+        this.lingerMs = lingerMs;
+        this.offerTimeoutMs = offerTimeoutMs;
+        this.confirmTimeoutMs = confirmTimeoutMs;
+
+        meterRegistry.gauge("vanguard.messaging.publisher.buffer", buffer, BlockingQueue::size);
+        this.rejected = Counter.builder("vanguard.messaging.publisher.rejected")
+                .description("Messages rejected because the publish buffer was full")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        running = true;
+        sender = new Thread(this::run, "rabbit-batch-publisher");
+        sender.setDaemon(true);
+        sender.start();
+    }
+
+    /**
+     * Stops the sender after flushing the messages already buffered.
+     */
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        sender.join(confirmTimeoutMs);
+    }
+
+    /**
+     * Queues a message for publishing.
+     *
+     * @return A future completed once the broker has confirmed the message.
+     */
+    public CompletableFuture<Void> publish(String exchange, String routingKey, Message message, String correlationId) {
+        Pending pending = new Pending(exchange, routingKey, message, new CorrelationData(correlationId));
+
+        try {
+            if (!buffer.offer(pending, offerTimeoutMs, TimeUnit.MILLISECONDS)) {
+                rejected.increment();
+                pending.result.completeExceptionally(new RejectedExecutionException("Publish buffer is full"));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            pending.result.completeExceptionally(e);
+        }
+        return pending.result;
+    }
+
+    private void run() {
+        List<Pending> batch = new ArrayList<>(batchSize);
+
+        while (running || !buffer.isEmpty()) {
+            try {
+                Pending first = buffer.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(lingerMs);
+                while (batch.size() < batchSize) {
+                    Pending next = buffer.poll(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+
+                send(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                batch.forEach(pending -> pending.result.completeExceptionally(e));
+                return;
+            } catch (RuntimeException e) {
+                log.error("Unexpected error in batch publisher: {}", e.getMessage());
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void send(List<Pending> batch) throws InterruptedException {
+        inFlight.acquire(batch.size());
+        batch.forEach(this::track);
+
+        try {
+            rabbitTemplate.invoke(operations -> {
+                for (Pending pending : batch) {
+                    operations.send(pending.exchange, pending.routingKey, pending.message, pending.correlation);
+                }
+                return null;
+            });
+        } catch (AmqpException e) {
+            /**
+             * Nothing will confirm these, fail them now; completing the
+             * correlation future releases the permits.
+             */
+            batch.forEach(pending -> pending.correlation.getFuture().completeExceptionally(e));
+        }
+    }
+
+    private void track(Pending pending) {
+        CorrelationData correlation = pending.correlation;
+
+        correlation.getFuture()
+                .orTimeout(confirmTimeoutMs, TimeUnit.MILLISECONDS)
+                .whenComplete((confirm, error) -> {
+                    inFlight.release();
+
+                    if (error != null) {
+                        pending.result.completeExceptionally(error);
+                    } else if (!confirm.isAck()) {
+                        pending.result.completeExceptionally(
+                                new AmqpException("Message nacked by broker: " + confirm.getReason()));
+                    } else if (correlation.getReturned() != null) {
+                        pending.result.completeExceptionally(
+                                new AmqpException("Message returned as unroutable: "
+                                        + correlation.getReturned().getReplyText()));
+                    } else {
+                        pending.result.complete(null);
+                    }
+                });
+    }
+
+    private static final class Pending {
+        private final String exchange;
+        private final String routingKey;
+        private final Message message;
+        private final CorrelationData correlation;
+        private final CompletableFuture<Void> result = new CompletableFuture<>();
+
+        private Pending(String exchange, String routingKey, Message message, CorrelationData correlation) {
+            this.exchange = exchange;
+            this.routingKey = routingKey;
+            this.message = message;
+            this.correlation = correlation;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.auvexis.vanguard.shared.infrastructure.rabbitmq;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.amqp.core.AmqpAdmin;
+import org.springframework.amqp.core.QueueInformation;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.rabbitmq.client.AMQP;
+import com.rabbitmq.client.GetResponse;
+
+/**
+ * Inspects and replays dead-lettered messages.
+ */
+@Service
+public class DeadLetterService {
+
+    private final RabbitTemplate rabbitTemplate;
+    private final AmqpAdmin amqpAdmin;
+    private final RetryTopology topology;
+    private final long confirmTimeoutMs;
+
+    public DeadLetterService(
+            RabbitTemplate rabbitTemplate,
+            AmqpAdmin amqpAdmin,
+            RetryTopology topology,
+            @Value("${vanguard.messaging.retry.confirm-timeout-ms:5000}") long confirmTimeoutMs) {
+        this.rabbitTemplate = rabbitTemplate;
+        this.amqpAdmin = amqpAdmin;
+        this.topology = topology;
+        this.confirmTimeoutMs = confirmTimeoutMs;
+    }
+
+    /**
+     * @return The number of dead-lettered messages per work queue.
+     */
+    public Map<String, Integer> counts() {
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        topology.queues().stream().sorted().forEach(queue -> {
+            QueueInformation info = amqpAdmin.getQueueInfo(RetryTopology.deadLetterQueue(queue));
+            counts.put(queue, info != null ? info.getMessageCount() : 0);
+        });
+        return counts;
+    }
+
+    /**
+     * Moves up to {@code limit} messages from the dead-letter queue back to
+     * their work queue with a fresh retry budget. Each message is only acked
+     * on the dead-letter queue after the broker has confirmed the republished
+     * copy; a nack or confirm timeout aborts the replay and closes the channel,
+     * which returns the unacked message to the dead-letter queue.
+     *
+     * @return The number of replayed messages.
+     */
+    public int replay(String queue, int limit) {
+        if (!topology.covers(queue)) {
+            throw new IllegalArgumentException("Unknown queue: " + queue);
+        }
+
+        Integer replayed = rabbitTemplate.execute(channel -> {
+            channel.confirmSelect();
+
+            /**
+             * A publish to the default exchange is silently dropped if the
+             * work queue is gone, so fail before taking anything off the DLQ
+             */
+            channel.queueDeclarePassive(queue);
+
+            int count = 0;
+            while (count < limit) {
+                GetResponse response = channel.basicGet(RetryTopology.deadLetterQueue(queue), false);
+                if (response == null) {
+                    break;
+                }
+
+                channel.basicPublish("", queue, withoutRetryHeaders(response.getProps()), response.getBody());
+                channel.waitForConfirmsOrDie(confirmTimeoutMs);
+                channel.basicAck(response.getEnvelope().getDeliveryTag(), false);
+                count++;
+            }
+            return count;
+        });
+        return replayed != null ? replayed : 0;
+    }
+
+    private static AMQP.BasicProperties withoutRetryHeaders(AMQP.BasicProperties properties) {
+        Map<String, Object> headers = properties.getHeaders() != null
+                ? new HashMap<>(properties.getHeaders())
+                : new HashMap<>();
+        headers.remove(TieredRetryRecoverer.RETRY_COUNT_HEADER);
+        headers.remove(TieredRetryRecoverer.EXCEPTION_HEADER);
+        headers.remove(TieredRetryRecoverer.ORIGINAL_QUEUE_HEADER);
+
+        return properties.builder().headers(headers).build();
+    }
+}
@@ -0,0 +1,45 @@
+package com.auvexis.vanguard.shared.infrastructure.rabbitmq;
+
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Per-listener consumer settings, keyed by the {@code @RabbitListener} id.
+ *
+ * <pre>
+ * vanguard.messaging.listeners.email-verification.max-concurrency=8
+ * vanguard.messaging.listeners.email-verification.batch-size=50
+ * </pre>
+ *
+ * @param listeners Settings per listener id; unlisted listeners use
+ *                  {@link Listener#DEFAULTS}.
+ */
+@ConfigurationProperties(prefix = "vanguard.messaging")
+public record ListenerProperties(
+        @DefaultValue Map<String, Listener> listeners) {
+
+    public Listener forListener(String id) {
+        return id != null ? listeners.getOrDefault(id, Listener.DEFAULTS) : Listener.DEFAULTS;
+    }
+
+    /**
+     * @param concurrency      Consumers started with the container.
+     * @param maxConcurrency   Upper bound the container scales up to under load.
+     * @param prefetch         Unacked messages the broker pushes per consumer;
+     *                         raised to at least the batch size.
+     * @param batchSize        Messages handed to a batch listener at once.
+     * @param receiveTimeoutMs How long a consumer waits to fill a batch before
+     *                         delivering a partial one.
+     */
+    public record Listener(
+            @DefaultValue("1") int concurrency,
+            @DefaultValue("4") int maxConcurrency,
+            @DefaultValue("100") int prefetch,
+            @DefaultValue("50") int batchSize,
+            @DefaultValue("200") long receiveTimeoutMs) {
+
+        public static final Listener DEFAULTS = new Listener(1, 4, 100, 50, 200);
+    }
+}
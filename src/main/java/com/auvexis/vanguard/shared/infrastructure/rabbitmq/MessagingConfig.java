@@ -1,8 +1,12 @@
 package com.auvexis.vanguard.shared.infrastructure.rabbitmq;
 
 import org.springframework.amqp.core.TopicExchange;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.listener.SimpleMessageListenerContainer;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
 import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.boot.autoconfigure.amqp.SimpleRabbitListenerContainerFactoryConfigurer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -15,6 +19,7 @@ import org.springframework.context.annotation.Configuration;
 public class MessagingConfig {
 
     public static final String APP_EXCHANGE = "app.exchange";
+    public static final String BATCH_LISTENER_FACTORY = "batchListenerContainerFactory";
 
     @Bean
     public TopicExchange appExchange() {
@@ -25,4 +30,37 @@ public class MessagingConfig {
     public MessageConverter jackson2JsonMessageConverter() {
         return new Jackson2JsonMessageConverter();
     }
+
+    /**
+     * Container factory for listeners that receive {@code List<Message>}
+     * batches. Concurrency, prefetch and batch size are applied per listener id
+     * from {@link ListenerProperties}.
+     *
+     * No retry advice is configured: batch listeners route failed messages to
+     * the retry tiers themselves through {@link TieredRetryRecoverer}, so one
+     * bad message does not redeliver the whole batch.
+     */
+    @Bean(BATCH_LISTENER_FACTORY)
+    public SimpleRabbitListenerContainerFactory batchListenerContainerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer,
+            ConnectionFactory connectionFactory,
+            ListenerProperties properties) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        configurer.configure(factory, connectionFactory);
+        factory.setBatchListener(true);
+        factory.setConsumerBatchEnabled(true);
+        factory.setDeBatchingEnabled(true);
+        factory.setContainerCustomizer(container -> customize(container, properties));
+        return factory;
+    }
+
+    private static void customize(SimpleMessageListenerContainer container, ListenerProperties properties) {
+        ListenerProperties.Listener listener = properties.forListener(container.getListenerId());
+
+        container.setMaxConcurrentConsumers(Math.max(listener.concurrency(), listener.maxConcurrency()));
+        container.setConcurrentConsumers(listener.concurrency());
+        container.setBatchSize(listener.batchSize());
+        container.setPrefetchCount(Math.max(listener.prefetch(), listener.batchSize()));
+        container.setReceiveTimeout(listener.receiveTimeoutMs());
+    }
 }
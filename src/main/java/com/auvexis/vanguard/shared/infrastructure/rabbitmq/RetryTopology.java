@@ -0,0 +1,91 @@
+package com.auvexis.vanguard.shared.infrastructure.rabbitmq;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.amqp.core.Declarable;
+import org.springframework.amqp.core.Declarables;
+import org.springframework.amqp.core.QueueBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Delayed retry and dead-letter queues for listener queues.
+ *
+ * For a work queue {@code q} this declares:
+ * - {@code q.retry.<delay-ms>} per delay tier: a queue without consumers whose
+ * messages expire after the delay and are dead-lettered back to {@code q}.
+ * - {@code q.dlq}: where messages are parked after the last attempt.
+ *
+ * The work queue itself is left untouched, so existing queues keep their
+ * arguments. Failed messages are routed by {@link TieredRetryRecoverer}.
+ */
+@Component
+public class RetryTopology {
+
+    public static final String DLQ_SUFFIX = ".dlq";
+
+    private final long[] delaysMs;
+    private final int maxAttempts;
+    private final Set<String> queues = ConcurrentHashMap.newKeySet();
+
+    public RetryTopology(
+            @Value("${vanguard.messaging.retry.delays-ms:5000,30000,300000}") long[] delaysMs,
+            @Value("${vanguard.messaging.retry.max-attempts:5}") int maxAttempts) {
+        if (delaysMs.length == 0) {
+            throw new IllegalArgumentException("At least one retry delay is required");
+        }
+        this.delaysMs = delaysMs.clone();
+        this.maxAttempts = maxAttempts;
+    }
+
+    /**
+     * Declares the retry tiers and dead-letter queue of a work queue.
+     */
+    public Declarables declare(String queue) {
+        queues.add(queue);
+
+        List<Declarable> declarables = new ArrayList<>();
+        for (long delay : delaysMs) {
+            declarables.add(QueueBuilder
+                    .durable(retryQueue(queue, delay))
+                    .ttl((int) delay)
+                    .deadLetterExchange("")
+                    .deadLetterRoutingKey(queue)
+                    .build());
+        }
+        declarables.add(QueueBuilder.durable(deadLetterQueue(queue)).build());
+
+        return new Declarables(declarables);
+    }
+
+    public boolean covers(String queue) {
+        return queues.contains(queue);
+    }
+
+    public Set<String> queues() {
+        return Set.copyOf(queues);
+    }
+
+    public int maxAttempts() {
+        return maxAttempts;
+    }
+
+    /**
+     * @param retries The number of retries already made (0 for the first).
+     * @return The retry queue for the next attempt; the last tier repeats.
+     */
+    public String retryQueueFor(String queue, int retries) {
+        return retryQueue(queue, delaysMs[Math.min(retries, delaysMs.length - 1)]);
+    }
+
+    public static String deadLetterQueue(String queue) {
+        return queue + DLQ_SUFFIX;
+    }
+
+    private static String retryQueue(String queue, long delayMs) {
+        return queue + ".retry." + delayMs;
+    }
+}
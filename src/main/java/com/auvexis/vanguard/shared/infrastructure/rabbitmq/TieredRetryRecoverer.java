@@ -0,0 +1,127 @@
+package com.auvexis.vanguard.shared.infrastructure.rabbitmq;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.AmqpRejectAndDontRequeueException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.retry.MessageRecoverer;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Routes messages whose listener failed to the next delayed retry tier, or to
+ * the dead-letter queue once the attempts are exhausted, instead of requeueing
+ * them for immediate redelivery.
+ *
+ * Called by batch listeners for each message that failed, so the rest of the
+ * batch can still be acknowledged. Returns only once the broker has confirmed
+ * the republished copy; a nack, an unroutable return or a confirm timeout
+ * throws, so the listener fails and the original is redelivered.
+ */
+@Component
+public class TieredRetryRecoverer implements MessageRecoverer {
+
+    public static final String RETRY_COUNT_HEADER = "x-retry-count";
+    public static final String EXCEPTION_HEADER = "x-exception-message";
+    public static final String ORIGINAL_QUEUE_HEADER = "x-original-queue";
+
+    private static final Logger log = LoggerFactory.getLogger(TieredRetryRecoverer.class);
+
+    private final RabbitTemplate rabbitTemplate;
+    private final RetryTopology topology;
+    private final long confirmTimeoutMs;
+
+    public TieredRetryRecoverer(
+            RabbitTemplate rabbitTemplate,
+            RetryTopology topology,
+            @Value("${vanguard.messaging.retry.confirm-timeout-ms:5000}") long confirmTimeoutMs) {
+        this.rabbitTemplate = rabbitTemplate;
+        this.topology = topology;
+        this.confirmTimeoutMs = confirmTimeoutMs;
+    }
+
+    @Override
+    public void recover(Message message, Throwable cause) {
+        MessageProperties properties = message.getMessageProperties();
+        String queue = properties.getConsumerQueue();
+
+        if (queue == null || !topology.covers(queue)) {
+            throw new AmqpRejectAndDontRequeueException("No retry topology for queue " + queue, cause);
+        }
+
+        int retries = retriesOf(properties);
+        properties.setHeader(ORIGINAL_QUEUE_HEADER, queue);
+
+        /**
+         * Messages that cannot be converted will never succeed, so they are
+         * parked immediately
+         */
+        if (retries + 1 >= topology.maxAttempts() || isPermanent(cause)) {
+            properties.setHeader(EXCEPTION_HEADER, rootMessage(cause));
+            sendConfirmed(RetryTopology.deadLetterQueue(queue), message);
+            log.warn("Message {} dead-lettered from {} after {} attempts: {}",
+                    properties.getMessageId(), queue, retries + 1, rootMessage(cause));
+            return;
+        }
+
+        properties.setHeader(RETRY_COUNT_HEADER, retries + 1);
+        sendConfirmed(topology.retryQueueFor(queue, retries), message);
+    }
+
+    private void sendConfirmed(String queue, Message message) {
+        CorrelationData correlation = new CorrelationData();
+        rabbitTemplate.send("", queue, message, correlation);
+
+        CorrelationData.Confirm confirm;
+        try {
+            confirm = correlation.getFuture().get(confirmTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException | ExecutionException e) {
+            throw new AmqpException("No broker confirm for message republished to " + queue, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AmqpException("Interrupted waiting for broker confirm to " + queue, e);
+        }
+
+        /**
+         * The return, if any, is recorded before the confirm completes
+         */
+        if (!confirm.isAck()) {
+            throw new AmqpException("Broker nacked message republished to " + queue + ": " + confirm.getReason());
+        }
+        if (correlation.getReturned() != null) {
+            throw new AmqpException("Message republished to " + queue + " was unroutable: "
+                    + correlation.getReturned().getReplyText());
+        }
+    }
+
+    private static int retriesOf(MessageProperties properties) {
+        Object value = properties.getHeader(RETRY_COUNT_HEADER);
+        return value instanceof Number number ? number.intValue() : 0;
+    }
+
+    private static boolean isPermanent(Throwable cause) {
+        for (Throwable t = cause; t != null; t = t.getCause()) {
+            if (t instanceof MessageConversionException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String rootMessage(Throwable cause) {
+        Throwable root = cause;
+        while (root.getCause() != null) {
+            root = root.getCause();
+        }
+        return root.getClass().getSimpleName() + ": " + root.getMessage();
+    }
+}
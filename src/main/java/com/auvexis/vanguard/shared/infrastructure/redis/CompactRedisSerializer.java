@@ -0,0 +1,182 @@
+package com.auvexis.vanguard.shared.infrastructure.redis;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+import org.springframework.lang.Nullable;
+
+/**
+ * Redis value serializer that writes registered types as
+ * {@code [marker][type id][payload]} using their {@link RedisValueCodec}, with
+ * no class names or field names on the wire.
+ *
+ * Values of unregistered types are written with the legacy serializer, and any
+ * payload that does not start with the marker byte is read with it too. This
+ * keeps entries written before the switch readable until they expire.
+ */
+public class CompactRedisSerializer implements RedisSerializer<Object> {
+
+    /**
+     * Never the first byte of a UTF-8 JSON document.
+     */
+    static final byte MARKER = (byte) 0xFE;
+
+    private static final int BOOLEAN = 1;
+    private static final int STRING = 2;
+    private static final int LONG = 3;
+    private static final int INTEGER = 4;
+
+    private final RedisSerializer<Object> legacy;
+    private final Map<Class<?>, RedisValueCodec<?>> codecsByType = new HashMap<>();
+    private final RedisValueCodec<?>[] codecsById = new RedisValueCodec<?>[256];
+
+    public CompactRedisSerializer(List<RedisValueCodec<?>> codecs, RedisSerializer<Object> legacy) {
+        this.legacy = legacy;
+
+        List<RedisValueCodec<?>> all = new ArrayList<>(builtIns());
+        all.addAll(codecs);
+        all.forEach(this::register);
+    }
+
+    @Override
+    public byte[] serialize(@Nullable Object value) throws SerializationException {
+        if (value == null) {
+            return new byte[0];
+        }
+
+        RedisValueCodec<?> codec = codecsByType.get(value.getClass());
+        if (codec == null) {
+            return legacy.serialize(value);
+        }
+
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeByte(MARKER);
+            out.writeByte(codec.typeId());
+            write(codec, value, out);
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new SerializationException("Could not write " + value.getClass().getName(), e);
+        }
+    }
+
+    @Override
+    @Nullable
+    public Object deserialize(@Nullable byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+
+        if (bytes[0] != MARKER) {
+            return legacy.deserialize(bytes);
+        }
+
+        if (bytes.length < 2 || codecsById[bytes[1] & 0xff] == null) {
+            throw new SerializationException("Unknown cached type id");
+        }
+
+        try {
+            return codecsById[bytes[1] & 0xff].read(
+                    new DataInputStream(new ByteArrayInputStream(bytes, 2, bytes.length - 2)));
+        } catch (IOException e) {
+            throw new SerializationException("Could not read cached value", e);
+        }
+    }
+
+    private void register(RedisValueCodec<?> codec) {
+        int id = codec.typeId();
+        if (id < 0 || id > 255) {
+            throw new IllegalStateException("Type id out of range: " + id);
+        }
+        if (codecsById[id] != null) {
+            throw new IllegalStateException("Duplicate Redis type id " + id + " for " + codec.type().getName());
+        }
+        codecsById[id] = codec;
+        codecsByType.put(codec.type(), codec);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> void write(RedisValueCodec<T> codec, Object value, DataOutputStream out) throws IOException {
+        codec.write((T) value, out);
+    }
+
+    private static List<RedisValueCodec<?>> builtIns() {
+        return List.of(
+                new BuiltIn<>(BOOLEAN, Boolean.class) {
+                    @Override
+                    public void write(Boolean value, DataOutput out) throws IOException {
+                        out.writeBoolean(value);
+                    }
+
+                    @Override
+                    public Boolean read(DataInput in) throws IOException {
+                        return in.readBoolean();
+                    }
+                },
+                new BuiltIn<>(STRING, String.class) {
+                    @Override
+                    public void write(String value, DataOutput out) throws IOException {
+                        RedisValueCodec.writeString(out, value);
+                    }
+
+                    @Override
+                    public String read(DataInput in) throws IOException {
+                        return RedisValueCodec.readString(in);
+                    }
+                },
+                new BuiltIn<>(LONG, Long.class) {
+                    @Override
+                    public void write(Long value, DataOutput out) throws IOException {
+                        out.writeLong(value);
+                    }
+
+                    @Override
+                    public Long read(DataInput in) throws IOException {
+                        return in.readLong();
+                    }
+                },
+                new BuiltIn<>(INTEGER, Integer.class) {
+                    @Override
+                    public void write(Integer value, DataOutput out) throws IOException {
+                        out.writeInt(value);
+                    }
+
+                    @Override
+                    public Integer read(DataInput in) throws IOException {
+                        return in.readInt();
+                    }
+                });
+    }
+
+    private abstract static class BuiltIn<T> implements RedisValueCodec<T> {
+        private final int typeId;
+        private final Class<T> type;
+
+        private BuiltIn(int typeId, Class<T> type) {
+            this.typeId = typeId;
+            this.type = type;
+        }
+
+        @Override
+        public int typeId() {
+            return typeId;
+        }
+
+        @Override
+        public Class<T> type() {
+            return type;
+        }
+    }
+}
@@ -1,12 +1,20 @@
 package com.auvexis.vanguard.shared.infrastructure.redis;
 
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
@@ -14,19 +22,37 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.jsontype.impl.LaissezFaireSubTypeValidator;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 
+import io.micrometer.core.instrument.MeterRegistry;
+
 import java.time.Duration;
+import java.util.Set;
 
 @Configuration
 public class RedisConfiguration {
 
+    /**
+     * Value serializer shared by the template and the cache manager.
+     * {@code compact} (default) writes registered types in a binary layout and
+     * still reads entries written as JSON; {@code json} keeps the previous
+     * format.
+     */
+    @Bean
+    public RedisSerializer<Object> redisValueSerializer(
+            ObjectProvider<RedisValueCodec<?>> codecs,
+            @Value("${vanguard.redis.serializer:compact}") String format) {
+        if ("json".equalsIgnoreCase(format)) {
+            return jsonSerializer();
+        }
+        return new CompactRedisSerializer(codecs.orderedStream().toList(), jsonSerializer());
+    }
+
     @Bean
     public RedisTemplate<String, Object> redisTemplate(
-            LettuceConnectionFactory connectionFactory) {
+            LettuceConnectionFactory connectionFactory,
+            RedisSerializer<Object> serializer) {
         RedisTemplate<String, Object> template = new RedisTemplate<>();
         template.setConnectionFactory(connectionFactory);
 
-        GenericJackson2JsonRedisSerializer serializer = jsonSerializer();
-
         template.setKeySerializer(new StringRedisSerializer());
         template.setValueSerializer(serializer);
         template.setHashKeySerializer(new StringRedisSerializer());
@@ -36,17 +62,73 @@ public class RedisConfiguration {
         return template;
     }
 
+    /**
+     * Non-blocking counterpart of {@link #redisTemplate}, backed by the Lettuce
+     * async API and using the same serializers.
+     */
+    @Bean
+    public ReactiveRedisTemplate<String, Object> reactiveRedisTemplate(
+            LettuceConnectionFactory connectionFactory,
+            RedisSerializer<Object> serializer) {
+        RedisSerializationContext<String, Object> context = RedisSerializationContext
+                .<String, Object>newSerializationContext(new StringRedisSerializer())
+                .value(serializer)
+                .hashValue(serializer)
+                .build();
+        return new ReactiveRedisTemplate<>(connectionFactory, context);
+    }
+
+    /**
+     * Shared pub/sub container; components register their own channel listeners.
+     */
     @Bean
-    public RedisCacheConfiguration cacheConfiguration() {
+    public RedisMessageListenerContainer redisMessageListenerContainer(
+            LettuceConnectionFactory connectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        return container;
+    }
+
+    @Bean
+    public RedisCacheConfiguration cacheConfiguration(RedisSerializer<Object> serializer) {
         return RedisCacheConfiguration.defaultCacheConfig()
                 .entryTtl(Duration.ofMinutes(15))
                 .disableCachingNullValues()
                 .serializeKeysWith(
                         RedisSerializationContext.SerializationPair.fromSerializer(new StringRedisSerializer()))
-                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(jsonSerializer()));
+                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(serializer));
+    }
+
+    /**
+     * Redis cache manager with an in-process L1 in front of the caches listed in
+     * {@code vanguard.cache.local.names}.
+     */
+    @Bean
+    public CacheManager cacheManager(
+            LettuceConnectionFactory connectionFactory,
+            RedisCacheConfiguration cacheConfiguration,
+            StringRedisTemplate stringRedisTemplate,
+            RedisMessageListenerContainer listenerContainer,
+            MeterRegistry meterRegistry,
+            @Value("${vanguard.cache.local.names:auth:user:profile}") Set<String> localCacheNames,
+            @Value("${vanguard.cache.local.maximum-size:10000}") long maximumSize,
+            @Value("${vanguard.cache.local.expire-after-write-ms:30000}") long expireAfterWriteMs) {
+        RedisCacheManager redisCacheManager = RedisCacheManager.builder(connectionFactory)
+                .cacheDefaults(cacheConfiguration)
+                .build();
+        redisCacheManager.initializeCaches();
+
+        return new TwoLevelCacheManager(
+                redisCacheManager,
+                stringRedisTemplate,
+                listenerContainer,
+                meterRegistry,
+                localCacheNames,
+                maximumSize,
+                Duration.ofMillis(expireAfterWriteMs));
     }
 
-    private GenericJackson2JsonRedisSerializer jsonSerializer() {
+    static GenericJackson2JsonRedisSerializer jsonSerializer() {
         ObjectMapper mapper = new ObjectMapper();
         mapper.registerModule(new JavaTimeModule());
         // Use EVERYTHING instead of NON_FINAL because Records are final classes
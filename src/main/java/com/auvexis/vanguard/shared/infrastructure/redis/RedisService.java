@@ -1,8 +1,21 @@
 package com.auvexis.vanguard.shared.infrastructure.redis;
 
 import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.SessionCallback;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Service;
 
@@ -11,14 +24,23 @@ import org.springframework.stereotype.Service;
  * Provides a simplified interface for common key-value operations using
  * RedisTemplate.
  * Used primarily for token blacklisting and temporary data caching.
+ *
+ * Besides the blocking single-key operations it offers multi-key and pipelined
+ * variants that save round-trips, and non-blocking variants (built on the
+ * Lettuce reactive/async API) that let the caller overlap Redis I/O with other
+ * work.
  */
 @Service
 public class RedisService {
 
     private final RedisTemplate<String, Object> redisTemplate;
+    private final ReactiveRedisTemplate<String, Object> reactiveRedisTemplate;
 
-    public RedisService(RedisTemplate<String, Object> redisTemplate) {
+    public RedisService(
+            RedisTemplate<String, Object> redisTemplate,
+            ReactiveRedisTemplate<String, Object> reactiveRedisTemplate) {
         this.redisTemplate = redisTemplate;
+        this.reactiveRedisTemplate = reactiveRedisTemplate;
     }
 
     public void set(
@@ -42,4 +64,115 @@ public class RedisService {
         redisTemplate.delete(key);
     }
 
+    /**
+     * Reads several keys with a single MGET.
+     * 
+     * @return The values in key order, with null for missing keys.
+     */
+    public List<Object> mget(@NonNull Collection<String> keys) {
+        if (keys.isEmpty()) {
+            return List.of();
+        }
+        List<Object> values = redisTemplate.opsForValue().multiGet(keys);
+        return values != null ? values : Collections.nCopies(keys.size(), null);
+    }
+
+    /**
+     * Writes several keys with a single MSET.
+     */
+    public void mset(@NonNull Map<String, Object> values) {
+        if (!values.isEmpty()) {
+            redisTemplate.opsForValue().multiSet(values);
+        }
+    }
+
+    /**
+     * Writes several keys with the same TTL in one pipelined round-trip (MSET
+     * cannot set expirations).
+     */
+    public void mset(
+            @NonNull Map<String, Object> values,
+            @NonNull Duration ttl) {
+        if (values.isEmpty()) {
+            return;
+        }
+        pipelined(operations -> values.forEach((key, value) -> operations.opsForValue().set(key, value, ttl)));
+    }
+
+    /**
+     * Sends a group of commands in one pipeline and waits for all replies.
+     * Results read inside the callback are always null; the replies are
+     * returned in command order instead.
+     * 
+     * @param commands Issues the commands against the pipelined operations.
+     * @return The deserialized replies, one per command.
+     */
+    public List<Object> pipelined(@NonNull Consumer<RedisOperations<String, Object>> commands) {
+        return redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(@NonNull RedisOperations<K, V> operations) {
+                commands.accept((RedisOperations<String, Object>) operations);
+                return null;
+            }
+        });
+    }
+
+    public CompletableFuture<Object> getAsync(@NonNull String key) {
+        return reactiveRedisTemplate.opsForValue().get(key).toFuture();
+    }
+
+    public CompletableFuture<List<Object>> mgetAsync(@NonNull Collection<String> keys) {
+        if (keys.isEmpty()) {
+            return CompletableFuture.completedFuture(List.of());
+        }
+        return reactiveRedisTemplate.opsForValue().multiGet(keys).toFuture();
+    }
+
+    public CompletableFuture<Boolean> setAsync(
+            @NonNull String key,
+            @NonNull Object value,
+            @NonNull Duration ttl) {
+        return reactiveRedisTemplate.opsForValue().set(key, value, ttl).toFuture();
+    }
+
+    public CompletableFuture<Long> deleteAsync(@NonNull String... keys) {
+        return reactiveRedisTemplate.delete(keys).toFuture();
+    }
+
+    public void addToSet(
+            @NonNull String key,
+            @NonNull Object member) {
+        redisTemplate.opsForSet().add(key, member);
+    }
+
+    public boolean isSetMember(
+            @NonNull String key,
+            @NonNull Object member) {
+        return Boolean.TRUE.equals(redisTemplate.opsForSet().isMember(key, member));
+    }
+
+    public Set<Object> getSetMembers(@NonNull String key) {
+        return redisTemplate.opsForSet().members(key);
+    }
+
+    public void expireAt(
+            @NonNull String key,
+            @NonNull Instant expireAt) {
+        redisTemplate.expireAt(key, expireAt);
+    }
+
+    /**
+     * Iterates over all keys matching a pattern using SCAN, so large keyspaces
+     * are walked incrementally instead of blocking Redis like KEYS would.
+     */
+    public void scanKeys(
+            @NonNull String pattern,
+            @NonNull Consumer<String> consumer) {
+        ScanOptions options = ScanOptions.scanOptions().match(pattern).count(1000).build();
+        try (Cursor<String> cursor = redisTemplate.scan(options)) {
+            cursor.forEachRemaining(consumer);
+        }
+    }
+
 }
@@ -0,0 +1,100 @@
+package com.auvexis.vanguard.shared.infrastructure.redis;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Binary codec for one value type stored in Redis by the
+ * {@link CompactRedisSerializer}. Modules register codecs for their own types
+ * by exposing them as beans.
+ *
+ * The type id is written in front of every value, so it must be unique and
+ * must never be reused for a different layout: when a type's fields change,
+ * register the new layout under a new id. Ids below 32 are reserved for the
+ * built-in codecs.
+ */
+public interface RedisValueCodec<T> {
+
+    int typeId();
+
+    Class<T> type();
+
+    void write(T value, DataOutput out) throws IOException;
+
+    T read(DataInput in) throws IOException;
+
+    /**
+     * Writes an unsigned variable-length int (7 bits per byte).
+     */
+    static void writeVarInt(DataOutput out, int value) throws IOException {
+        while ((value & ~0x7f) != 0) {
+            out.writeByte((value & 0x7f) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    static int readVarInt(DataInput in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            byte b = in.readByte();
+            value |= (b & 0x7f) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    /**
+     * Length-prefixed UTF-8. The length is stored plus one so that 0 can encode
+     * null.
+     */
+    static void writeString(DataOutput out, String value) throws IOException {
+        if (value == null) {
+            writeVarInt(out, 0);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(out, bytes.length + 1);
+        out.write(bytes);
+    }
+
+    static String readString(DataInput in) throws IOException {
+        int length = readVarInt(in);
+        if (length == 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length - 1];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    static void writeUuid(DataOutput out, UUID value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value.getMostSignificantBits());
+            out.writeLong(value.getLeastSignificantBits());
+        }
+    }
+
+    static UUID readUuid(DataInput in) throws IOException {
+        return in.readBoolean() ? new UUID(in.readLong(), in.readLong()) : null;
+    }
+
+    static void writeInstant(DataOutput out, Instant value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value.getEpochSecond());
+            writeVarInt(out, value.getNano());
+        }
+    }
+
+    static Instant readInstant(DataInput in) throws IOException {
+        return in.readBoolean() ? Instant.ofEpochSecond(in.readLong(), readVarInt(in)) : null;
+    }
+}
@@ -0,0 +1,174 @@
+package com.auvexis.vanguard.shared.infrastructure.redis;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+/**
+ * Cache that keeps a small in-process copy (L1) of the values held in Redis
+ * (L2). Reads are served from L1 when possible; every write or eviction goes
+ * to Redis first and is then announced to the other nodes so they drop their
+ * local copy.
+ *
+ * L1 keys are the string form of the cache key, which is also how Redis keys
+ * are built, so remote invalidations can address them.
+ *
+ * A value read from Redis may be stale by the time it reaches L1 if an
+ * eviction lands in between. Every local invalidation therefore bumps a
+ * counter first, and a fill that sees the counter move drops what it just
+ * stored. The check is per cache rather than per key, so an unrelated
+ * eviction only costs one more Redis read.
+ */
+final class TwoLevelCache implements Cache {
+
+    private final Cache remote;
+    private final com.github.benmanes.caffeine.cache.Cache<String, Object> local;
+    private final TwoLevelCacheManager manager;
+    private final AtomicLong invalidations = new AtomicLong();
+
+    TwoLevelCache(
+            Cache remote,
+            com.github.benmanes.caffeine.cache.Cache<String, Object> local,
+            TwoLevelCacheManager manager) {
+        this.remote = remote;
+        this.local = local;
+        this.manager = manager;
+    }
+
+    @Override
+    @NonNull
+    public String getName() {
+        return remote.getName();
+    }
+
+    @Override
+    @NonNull
+    public Object getNativeCache() {
+        return remote.getNativeCache();
+    }
+
+    @Override
+    @Nullable
+    public ValueWrapper get(@NonNull Object key) {
+        Object value = local.getIfPresent(localKey(key));
+        if (value != null) {
+            return new SimpleValueWrapper(value);
+        }
+
+        long seen = invalidations.get();
+        ValueWrapper wrapper = remote.get(key);
+        if (wrapper != null && wrapper.get() != null) {
+            fillLocal(localKey(key), wrapper.get(), seen);
+        }
+        return wrapper;
+    }
+
+    @Override
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public <T> T get(@NonNull Object key, @Nullable Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException(
+                    "Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public <T> T get(@NonNull Object key, @NonNull Callable<T> valueLoader) {
+        Object value = local.getIfPresent(localKey(key));
+        if (value != null) {
+            return (T) value;
+        }
+
+        long seen = invalidations.get();
+        T loaded = remote.get(key, valueLoader);
+        if (loaded != null) {
+            fillLocal(localKey(key), loaded, seen);
+        }
+        return loaded;
+    }
+
+    @Override
+    public void put(@NonNull Object key, @Nullable Object value) {
+        remote.put(key, value);
+        invalidate(key);
+    }
+
+    @Override
+    public void evict(@NonNull Object key) {
+        remote.evict(key);
+        invalidate(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(@NonNull Object key) {
+        boolean present = remote.evictIfPresent(key);
+        invalidate(key);
+        return present;
+    }
+
+    @Override
+    public void clear() {
+        remote.clear();
+        clearLocal();
+        manager.publishClear(getName());
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean present = remote.invalidate();
+        clearLocal();
+        manager.publishClear(getName());
+        return present;
+    }
+
+    /**
+     * Drops the local copy only. Called directly for invalidations coming
+     * from other nodes.
+     */
+    void evictLocal(String key) {
+        invalidations.incrementAndGet();
+        local.invalidate(key);
+    }
+
+    void clearLocal() {
+        invalidations.incrementAndGet();
+        local.invalidateAll();
+    }
+
+    /**
+     * Stores a value read from Redis, unless an invalidation happened since
+     * the read started. An invalidation racing with the put either sees the
+     * value and drops it, or has already bumped the counter so the re-check
+     * drops it here.
+     */
+    private void fillLocal(String localKey, Object value, long seen) {
+        local.put(localKey, value);
+        if (invalidations.get() != seen) {
+            local.invalidate(localKey);
+        }
+    }
+
+    /**
+     * The next read on this node reloads the value from Redis, so L1 never
+     * holds a value that was not read back from the shared store.
+     */
+    private void invalidate(Object key) {
+        String localKey = localKey(key);
+        evictLocal(localKey);
+        manager.publishEvict(getName(), localKey);
+    }
+
+    private static String localKey(Object key) {
+        return String.valueOf(key);
+    }
+}
@@ -0,0 +1,153 @@
+package com.auvexis.vanguard.shared.infrastructure.redis;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Cache manager that puts a bounded in-process cache in front of selected
+ * Redis caches. Caches not listed as local are returned from the Redis cache
+ * manager unchanged.
+ *
+ * Local copies are kept consistent across nodes through Redis pub/sub: every
+ * write or eviction publishes an invalidation, and each node drops the
+ * matching entry on receipt. A short local TTL bounds staleness if a message
+ * is missed.
+ */
+public class TwoLevelCacheManager implements CacheManager, MessageListener {
+
+    public static final String CHANNEL = "cache:invalidation";
+
+    private static final Logger log = LoggerFactory.getLogger(TwoLevelCacheManager.class);
+
+    private static final String EVICT = "E";
+    private static final String CLEAR = "C";
+    private static final String SEPARATOR = "|";
+
+    private final CacheManager remote;
+    private final StringRedisTemplate redisTemplate;
+    private final MeterRegistry meterRegistry;
+    private final Set<String> localCacheNames;
+    private final long maximumSize;
+    private final Duration expireAfterWrite;
+
+    /**
+     * Identifies this node's own invalidations so they are not applied twice.
+     */
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final Map<String, TwoLevelCache> caches = new ConcurrentHashMap<>();
+
+    public TwoLevelCacheManager(
+            CacheManager remote,
+            StringRedisTemplate redisTemplate,
+            RedisMessageListenerContainer listenerContainer,
+            MeterRegistry meterRegistry,
+            Set<String> localCacheNames,
+            long maximumSize,
+            Duration expireAfterWrite) {
+        this.remote = remote;
+        this.redisTemplate = redisTemplate;
+        this.meterRegistry = meterRegistry;
+        this.localCacheNames = Set.copyOf(localCacheNames);
+        this.maximumSize = maximumSize;
+        this.expireAfterWrite = expireAfterWrite;
+
+        listenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+    }
+
+    @Override
+    @Nullable
+    public Cache getCache(@NonNull String name) {
+        if (!localCacheNames.contains(name)) {
+            return remote.getCache(name);
+        }
+
+        TwoLevelCache cache = caches.get(name);
+        if (cache != null) {
+            return cache;
+        }
+
+        Cache remoteCache = remote.getCache(name);
+        if (remoteCache == null) {
+            return null;
+        }
+        return caches.computeIfAbsent(name, key -> createCache(key, remoteCache));
+    }
+
+    @Override
+    @NonNull
+    public Collection<String> getCacheNames() {
+        return remote.getCacheNames();
+    }
+
+    @Override
+    public void onMessage(@NonNull Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split("\\" + SEPARATOR, 4);
+        if (parts.length < 3 || nodeId.equals(parts[0])) {
+            return;
+        }
+
+        TwoLevelCache cache = caches.get(parts[2]);
+        if (cache == null) {
+            return;
+        }
+
+        if (CLEAR.equals(parts[1])) {
+            cache.clearLocal();
+        } else if (EVICT.equals(parts[1]) && parts.length == 4) {
+            cache.evictLocal(parts[3]);
+        }
+    }
+
+    void publishEvict(String cacheName, String key) {
+        publish(String.join(SEPARATOR, nodeId, EVICT, cacheName, key));
+    }
+
+    void publishClear(String cacheName) {
+        publish(String.join(SEPARATOR, nodeId, CLEAR, cacheName));
+    }
+
+    private void publish(String message) {
+        try {
+            redisTemplate.convertAndSend(CHANNEL, message);
+        } catch (Exception e) {
+            /**
+             * Other nodes fall back to the local TTL for this entry
+             */
+            log.warn("Failed to publish cache invalidation: {}", e.getMessage());
+        }
+    }
+
+    private TwoLevelCache createCache(String name, Cache remoteCache) {
+        com.github.benmanes.caffeine.cache.Cache<String, Object> local = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, local, name + ".local");
+        return new TwoLevelCache(remoteCache, local, this);
+    }
+}
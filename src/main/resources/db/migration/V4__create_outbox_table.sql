@@ -0,0 +1,11 @@
+-- V4__create_outbox_table.sql
+
+-- 1. Table outbox: domain events written in the same transaction as the state
+-- change and relayed to the broker afterwards
+CREATE TABLE auth.outbox (
+    id BIGSERIAL PRIMARY KEY,
+    routing_key VARCHAR(255) NOT NULL,
+    payload_type VARCHAR(255) NOT NULL,
+    payload TEXT NOT NULL,
+    created_at TIMESTAMPTZ NOT NULL DEFAULT NOW()
+);
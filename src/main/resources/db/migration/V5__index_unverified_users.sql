@@ -0,0 +1,5 @@
+-- V5__index_unverified_users.sql
+
+-- 1. Partial index backing the cleanup of accounts that never verified their
+-- email; verified users, the vast majority, are not part of it
+CREATE INDEX idx_users_unverified_created_at ON auth.users (created_at) WHERE NOT email_verified;
@@ -0,0 +1,136 @@
+-- V6__partition_refresh_tokens.sql
+
+-- 1. Refresh tokens range-partitioned by expiry, one partition per UTC day.
+-- Expired tokens are removed by dropping whole partitions instead of deleting
+-- rows. Unique constraints on a partitioned table must include the partition
+-- key, so tokens are indexed rather than constrained unique (they are random
+-- UUIDs)
+ALTER TABLE auth.refresh_tokens RENAME TO refresh_tokens_legacy;
+
+CREATE TABLE auth.refresh_tokens (
+    id UUID NOT NULL DEFAULT gen_random_uuid(),
+    token VARCHAR(255) NOT NULL,
+    user_id UUID NOT NULL,
+    expiry_date TIMESTAMPTZ NOT NULL,
+    PRIMARY KEY (id, expiry_date),
+    CONSTRAINT fk_refresh_tokens_user FOREIGN KEY (user_id) REFERENCES auth.users(id) ON DELETE CASCADE
+) PARTITION BY RANGE (expiry_date);
+
+CREATE INDEX idx_refresh_tokens_token ON auth.refresh_tokens (token);
+CREATE INDEX idx_refresh_tokens_user_id ON auth.refresh_tokens (user_id);
+
+-- 2. Catches tokens beyond the last daily partition, e.g. after missed
+-- maintenance runs or a longer token lifetime. The maintenance below moves
+-- such rows into their daily partition once it is created
+CREATE TABLE auth.refresh_tokens_default PARTITION OF auth.refresh_tokens DEFAULT;
+
+-- 3. Creates the daily partitions up to days_ahead days from today and drops
+-- the ones whose whole range is in the past. Each partition is created or
+-- dropped in its own subtransaction, so one failing day cannot block the
+-- others; failures are counted and reported as warnings. Returns the number
+-- of dropped partitions, of failures, and of rows left in the default
+-- partition. Serialized with an advisory lock so every node can run it
+CREATE FUNCTION auth.maintain_refresh_token_partitions(days_ahead INTEGER)
+RETURNS TABLE (dropped INTEGER, failed INTEGER, defaulted BIGINT)
+LANGUAGE plpgsql
+AS $$
+DECLARE
+    today DATE := (now() AT TIME ZONE 'UTC')::date;
+    partition_day DATE;
+    partition_name TEXT;
+    range_start TIMESTAMPTZ;
+    range_end TIMESTAMPTZ;
+    expired RECORD;
+BEGIN
+    dropped := 0;
+    failed := 0;
+    defaulted := 0;
+
+    IF NOT pg_try_advisory_xact_lock(hashtext('auth.refresh_tokens.partitions')) THEN
+        RETURN NEXT;
+        RETURN;
+    END IF;
+
+    FOR partition_day IN SELECT generate_series(today, today + days_ahead, INTERVAL '1 day')::date LOOP
+        partition_name := 'refresh_tokens_p' || to_char(partition_day, 'YYYYMMDD');
+        CONTINUE WHEN to_regclass('auth.' || partition_name) IS NOT NULL;
+
+        range_start := partition_day::timestamp AT TIME ZONE 'UTC';
+        range_end := (partition_day + 1)::timestamp AT TIME ZONE 'UTC';
+
+        BEGIN
+            IF EXISTS (
+                SELECT 1 FROM auth.refresh_tokens_default
+                WHERE expiry_date >= range_start AND expiry_date < range_end
+            ) THEN
+                -- A partition cannot be created over rows the default
+                -- partition holds, so the day's rows are moved into a new
+                -- table that is then attached in their place
+                LOCK TABLE auth.refresh_tokens_default IN ACCESS EXCLUSIVE MODE;
+                EXECUTE format(
+                        'CREATE TABLE auth.%I (LIKE auth.refresh_tokens INCLUDING DEFAULTS)',
+                        partition_name);
+                EXECUTE format(
+                        'WITH moved AS ('
+                        || ' DELETE FROM auth.refresh_tokens_default'
+                        || ' WHERE expiry_date >= $1 AND expiry_date < $2'
+                        || ' RETURNING id, token, user_id, expiry_date)'
+                        || ' INSERT INTO auth.%I (id, token, user_id, expiry_date) SELECT * FROM moved',
+                        partition_name)
+                    USING range_start, range_end;
+                EXECUTE format(
+                        'ALTER TABLE auth.refresh_tokens ATTACH PARTITION auth.%I FOR VALUES FROM (%L) TO (%L)',
+                        partition_name, range_start, range_end);
+            ELSE
+                EXECUTE format(
+                        'CREATE TABLE auth.%I PARTITION OF auth.refresh_tokens FOR VALUES FROM (%L) TO (%L)',
+                        partition_name, range_start, range_end);
+            END IF;
+        EXCEPTION WHEN OTHERS THEN
+            failed := failed + 1;
+            RAISE WARNING 'Could not create refresh token partition %: %', partition_name, SQLERRM;
+        END;
+    END LOOP;
+
+    FOR expired IN
+        SELECT c.relname
+        FROM pg_inherits i
+        JOIN pg_class c ON c.oid = i.inhrelid
+        JOIN pg_class p ON p.oid = i.inhparent
+        JOIN pg_namespace n ON n.oid = p.relnamespace
+        WHERE n.nspname = 'auth'
+          AND p.relname = 'refresh_tokens'
+          AND c.relname ~ '^refresh_tokens_p[0-9]{8}$'
+          AND to_date(substring(c.relname FROM 17), 'YYYYMMDD') < today
+    LOOP
+        BEGIN
+            EXECUTE format('DROP TABLE auth.%I', expired.relname);
+            dropped := dropped + 1;
+        EXCEPTION WHEN OTHERS THEN
+            failed := failed + 1;
+            RAISE WARNING 'Could not drop refresh token partition %: %', expired.relname, SQLERRM;
+        END;
+    END LOOP;
+
+    -- Rows of days whose partition was never created expire here instead
+    DELETE FROM auth.refresh_tokens_default WHERE expiry_date < today::timestamp AT TIME ZONE 'UTC';
+    SELECT count(*) INTO defaulted FROM auth.refresh_tokens_default;
+
+    RETURN NEXT;
+END;
+$$;
+
+-- Cover every carried-over token, with the same margin the maintenance job
+-- keeps. Tokens beyond a year stay in the default partition until their day
+-- comes within the job's horizon
+SELECT * FROM auth.maintain_refresh_token_partitions(LEAST(366, GREATEST(35, 7 + (
+    SELECT COALESCE(max(expiry_date AT TIME ZONE 'UTC')::date - (now() AT TIME ZONE 'UTC')::date, 0)
+    FROM auth.refresh_tokens_legacy))));
+
+-- 4. Carry over the tokens that are still valid
+INSERT INTO auth.refresh_tokens (id, token, user_id, expiry_date)
+SELECT id, token, user_id, expiry_date
+FROM auth.refresh_tokens_legacy
+WHERE expiry_date > now();
+
+DROP TABLE auth.refresh_tokens_legacy;
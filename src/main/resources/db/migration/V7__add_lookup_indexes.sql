@@ -0,0 +1,5 @@
+-- V7__add_lookup_indexes.sql
+
+-- 1. email_verifications.user_id backs findByUserId and the ON DELETE CASCADE
+-- from auth.users (refresh_tokens.user_id is indexed since V6)
+CREATE INDEX IF NOT EXISTS idx_email_verifications_user_id ON auth.email_verifications (user_id);
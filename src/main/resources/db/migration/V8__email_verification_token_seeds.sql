@@ -0,0 +1,7 @@
+-- V8__email_verification_token_seeds.sql
+
+-- 1. Verifications store the random seed the emailed token is derived from
+-- (see VerificationTokenService) and are looked up by user, so the unique
+-- index on the old token hash is no longer needed
+ALTER TABLE auth.email_verifications RENAME COLUMN token_hash TO token_seed;
+ALTER TABLE auth.email_verifications DROP CONSTRAINT email_verifications_token_hash_key;
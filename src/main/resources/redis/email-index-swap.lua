@@ -0,0 +1,16 @@
+-- Swaps a freshly built email index in for the live one.
+-- KEYS[1]: live set, KEYS[2]: staging set, KEYS[3]: emails deleted meanwhile
+-- Emails deleted while the staging set was being filled are dropped from it
+-- first, so a rebuild never brings back a deleted account.
+-- Returns the size of the new live set.
+if redis.call('EXISTS', KEYS[3]) == 1 then
+    redis.call('SDIFFSTORE', KEYS[2], KEYS[2], KEYS[3])
+    redis.call('DEL', KEYS[3])
+end
+
+if redis.call('EXISTS', KEYS[2]) == 1 then
+    redis.call('RENAME', KEYS[2], KEYS[1])
+else
+    redis.call('DEL', KEYS[1])
+end
+return redis.call('SCARD', KEYS[1])
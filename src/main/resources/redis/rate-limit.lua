@@ -0,0 +1,35 @@
+-- Token bucket with interval refill, shared by every replica.
+-- KEYS[1]: bucket key
+-- ARGV[1]: capacity, ARGV[2]: tokens per refill, ARGV[3]: refill period (ms),
+-- ARGV[4]: tokens requested
+-- Returns the number of tokens granted (0..requested).
+local capacity = tonumber(ARGV[1])
+local refill = tonumber(ARGV[2])
+local period = tonumber(ARGV[3])
+local requested = tonumber(ARGV[4])
+
+local time = redis.call('TIME')
+local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+
+local state = redis.call('HMGET', KEYS[1], 'tokens', 'ts')
+local tokens = tonumber(state[1])
+local ts = tonumber(state[2])
+
+if tokens == nil or ts == nil then
+    tokens = capacity
+    ts = now
+end
+
+local periods = math.floor((now - ts) / period)
+if periods > 0 then
+    tokens = math.min(capacity, tokens + periods * refill)
+    ts = ts + periods * period
+end
+
+local granted = math.min(tokens, requested)
+tokens = tokens - granted
+
+redis.call('HSET', KEYS[1], 'tokens', tokens, 'ts', ts)
+redis.call('PEXPIRE', KEYS[1], (math.ceil(capacity / refill) + 1) * period)
+
+return granted
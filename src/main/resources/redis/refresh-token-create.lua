@@ -0,0 +1,14 @@
+-- Issues a refresh token, replacing the user's previous one.
+-- KEYS[1]: user key, KEYS[2]: new token key, KEYS[3]: previous token key as
+-- read by the caller (only when the user had a token)
+-- ARGV[1]: previous token as read by the caller ('' if none), ARGV[2]: new
+-- token, ARGV[3]: user id, ARGV[4]: ttl (ms)
+-- A previous token replaced concurrently is not in KEYS, so it is left to
+-- expire; rotate already rejects it because it is not the user's token.
+if KEYS[3] and redis.call('GET', KEYS[1]) == ARGV[1] then
+    redis.call('DEL', KEYS[3])
+end
+
+redis.call('SET', KEYS[2], ARGV[3], 'PX', ARGV[4])
+redis.call('SET', KEYS[1], ARGV[2], 'PX', ARGV[4])
+return 1
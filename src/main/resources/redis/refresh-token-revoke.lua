@@ -0,0 +1,9 @@
+-- Revokes the user's refresh token.
+-- KEYS[1]: user key, KEYS[2]: token key as read by the caller
+-- ARGV[1]: token as read by the caller
+-- A token replaced concurrently is not in KEYS, so it is left to expire;
+-- rotate already rejects it once the user key is gone.
+if redis.call('GET', KEYS[1]) == ARGV[1] then
+    redis.call('DEL', KEYS[2])
+end
+return redis.call('DEL', KEYS[1])
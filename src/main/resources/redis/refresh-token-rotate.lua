@@ -0,0 +1,18 @@
+-- Swaps a refresh token for a new one if it is still the user's current token.
+-- KEYS[1]: current token key, KEYS[2]: new token key, KEYS[3]: owner's user key
+-- ARGV[1]: owner's user id as read from KEYS[1], ARGV[2]: current token,
+-- ARGV[3]: new token, ARGV[4]: ttl (ms)
+-- Returns the owner's user id, or nil if the token is unknown or superseded.
+local userId = redis.call('GET', KEYS[1])
+if userId ~= ARGV[1] then
+    return nil
+end
+
+redis.call('DEL', KEYS[1])
+if redis.call('GET', KEYS[3]) ~= ARGV[2] then
+    return nil
+end
+
+redis.call('SET', KEYS[2], userId, 'PX', ARGV[4])
+redis.call('SET', KEYS[3], ARGV[3], 'PX', ARGV[4])
+return userId
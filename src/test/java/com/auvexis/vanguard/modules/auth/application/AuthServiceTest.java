@@ -3,32 +3,52 @@ package com.auvexis.vanguard.modules.auth.application;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.sql.SQLException;
 import java.util.Optional;
 import java.util.UUID;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.auvexis.vanguard.modules.auth.application.exception.EmailAlreadyInUseException;
 import com.auvexis.vanguard.modules.auth.application.exception.EmailNotVerifiedException;
 import com.auvexis.vanguard.modules.auth.application.exception.InvalidCredentialsException;
-import com.auvexis.vanguard.modules.auth.domain.RefreshToken;
+import com.auvexis.vanguard.modules.auth.application.exception.RefreshTokenExpiredException;
+import com.auvexis.vanguard.modules.auth.domain.EmailVerification;
+import com.auvexis.vanguard.modules.auth.domain.SystemRole;
 import com.auvexis.vanguard.modules.auth.domain.User;
+import com.auvexis.vanguard.modules.auth.infrastructure.cache.RegisteredEmailIndex;
 import com.auvexis.vanguard.modules.auth.infrastructure.repository.EmailVerificationRepository;
+import com.auvexis.vanguard.modules.auth.infrastructure.repository.LoginCredentials;
+import com.auvexis.vanguard.modules.auth.infrastructure.repository.RefreshTokenStore.RefreshTokenRotation;
+import com.auvexis.vanguard.modules.auth.infrastructure.repository.UserClaims;
 import com.auvexis.vanguard.modules.auth.infrastructure.repository.UserRepository;
+import com.auvexis.vanguard.modules.auth.infrastructure.security.VerificationTokenService;
 import com.auvexis.vanguard.modules.auth.messaging.UserPublisher;
 import com.auvexis.vanguard.modules.auth.web.dtos.LoginRequest;
 import com.auvexis.vanguard.modules.auth.web.dtos.LoginResponse;
 import com.auvexis.vanguard.modules.auth.web.dtos.RegisterRequest;
+import com.auvexis.vanguard.modules.auth.web.dtos.TokenRefreshRequest;
+import com.auvexis.vanguard.modules.auth.web.dtos.TokenRefreshResponse;
 import com.auvexis.vanguard.shared.events.UserEmailVerificationEvent;
 import com.auvexis.vanguard.shared.infrastructure.jwt.JwtService;
 
@@ -45,69 +65,125 @@ class AuthServiceTest {
     private UserPublisher userPublisher;
     @Mock
     private EmailVerificationRepository emailVerificationRepository;
+    @Mock
+    private RegisteredEmailIndex emailIndex;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final VerificationTokenService verificationTokens = new VerificationTokenService("test-secret");
 
     private AuthService authService;
 
     @BeforeEach
     void setUp() {
-        authService = new AuthService(repo, pwdEncoder, jwtService, userPublisher, emailVerificationRepository);
+        authService = new AuthService(
+                repo, pwdEncoder, jwtService, userPublisher, emailVerificationRepository, verificationTokens,
+                emailIndex, new TransactionTemplate(transactionManager));
     }
 
     @Test
     void register_ShouldSaveUserAndPublishEvent() {
         RegisterRequest request = new RegisterRequest("Test User", "test@example.com", "password123");
-        when(repo.findByEmail(anyString())).thenReturn(Optional.empty());
-        when(repo.save(any(User.class))).thenAnswer(i -> {
+        when(repo.saveAndFlush(any(User.class))).thenAnswer(i -> {
+            User u = i.getArgument(0);
+            u.setId(UUID.randomUUID());
+            return u;
+        });
+        when(emailVerificationRepository.save(any(EmailVerification.class))).thenAnswer(i -> i.getArgument(0));
+        when(pwdEncoder.encode(anyString())).thenReturn("hashedPassword");
+
+        authService.register(request);
+
+        ArgumentCaptor<EmailVerification> verification = ArgumentCaptor.forClass(EmailVerification.class);
+        ArgumentCaptor<UserEmailVerificationEvent> event = ArgumentCaptor.forClass(UserEmailVerificationEvent.class);
+        verify(repo).saveAndFlush(any(User.class));
+        verify(repo, never()).findByEmail(any());
+        verify(emailIndex).addAfterCommit(request.email());
+        verify(emailVerificationRepository).save(verification.capture());
+        verify(userPublisher).publishUserEmailVerification(event.capture());
+        verify(pwdEncoder, times(1)).encode(anyString());
+        assertTrue(verificationTokens.matches(
+                event.getValue().id(), verification.getValue().getTokenSeed(), event.getValue().token()));
+    }
+
+    @Test
+    void register_ShouldHashPasswordBeforeOpeningTransaction() {
+        RegisterRequest request = new RegisterRequest("Test User", "test@example.com", "password123");
+        when(repo.saveAndFlush(any(User.class))).thenAnswer(i -> {
             User u = i.getArgument(0);
             u.setId(UUID.randomUUID());
             return u;
         });
+        when(emailVerificationRepository.save(any(EmailVerification.class))).thenAnswer(i -> i.getArgument(0));
         when(pwdEncoder.encode(anyString())).thenReturn("hashedPassword");
 
         authService.register(request);
 
-        verify(repo).save(any(User.class));
-        verify(emailVerificationRepository).save(any());
-        verify(userPublisher).publishUserEmailVerification(any(UserEmailVerificationEvent.class));
+        InOrder order = inOrder(pwdEncoder, transactionManager, repo);
+        order.verify(pwdEncoder).encode("password123");
+        order.verify(transactionManager).getTransaction(any());
+        order.verify(repo).saveAndFlush(any(User.class));
+        order.verify(transactionManager).commit(any());
     }
 
     @Test
     void register_ShouldThrowException_WhenEmailAlreadyInUse() {
         RegisterRequest request = new RegisterRequest("Test User", "test@example.com", "password123");
-        when(repo.findByEmail(request.email())).thenReturn(Optional.of(new User()));
+        when(emailIndex.isRegistered(request.email())).thenReturn(true);
+
+        assertThrows(EmailAlreadyInUseException.class, () -> authService.register(request));
+        verify(repo, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void register_ShouldThrowException_WhenInsertHitsUniqueConstraint() {
+        RegisterRequest request = new RegisterRequest("Test User", "test@example.com", "password123");
+        when(pwdEncoder.encode(anyString())).thenReturn("hashedPassword");
+        when(repo.saveAndFlush(any(User.class))).thenThrow(new DataIntegrityViolationException("duplicate",
+                new ConstraintViolationException("duplicate", new SQLException("duplicate", "23505"),
+                        "users_email_key")));
 
         assertThrows(EmailAlreadyInUseException.class, () -> authService.register(request));
+        verify(emailIndex).add(request.email());
+        verify(userPublisher, never()).publishUserEmailVerification(any());
+    }
+
+    @Test
+    void register_ShouldRethrow_WhenInsertFailsOnOtherConstraint() {
+        RegisterRequest request = new RegisterRequest("Test User", "test@example.com", "password123");
+        when(pwdEncoder.encode(anyString())).thenReturn("hashedPassword");
+        when(repo.saveAndFlush(any(User.class))).thenThrow(new DataIntegrityViolationException("null name",
+                new ConstraintViolationException("null name", new SQLException("null name", "23502"), null)));
+
+        assertThrows(DataIntegrityViolationException.class, () -> authService.register(request));
+        verify(emailIndex, never()).add(any());
     }
 
     @Test
     void login_ShouldReturnTokens_WhenCredentialsAreValid() {
         LoginRequest request = new LoginRequest("test@example.com", "password123");
-        User user = new User("Test", "test@example.com", "hashedPassword");
-        user.setEmailVerified(true);
+        LoginCredentials credentials = credentials(true);
 
-        when(repo.findByEmail(request.email())).thenReturn(Optional.of(user));
-        when(pwdEncoder.matches(request.password(), user.getPassword())).thenReturn(true);
-        when(jwtService.generateAccessToken(user)).thenReturn("accessToken");
+        when(repo.findLoginCredentialsByEmail(request.email())).thenReturn(Optional.of(credentials));
+        when(pwdEncoder.matches(request.password(), credentials.passwordHash())).thenReturn(true);
+        when(jwtService.generateAccessToken(credentials.id(), credentials.email(), SystemRole.USER, true))
+                .thenReturn("accessToken");
 
-        RefreshToken refreshToken = new RefreshToken();
-        refreshToken.setToken("refreshToken");
-        when(jwtService.createRefreshToken(user)).thenReturn(refreshToken);
+        when(jwtService.createRefreshToken(credentials.id())).thenReturn("refreshToken");
 
         LoginResponse response = authService.login(request);
 
         assertNotNull(response);
         assertEquals("accessToken", response.access_token());
         assertEquals("refreshToken", response.refresh_token());
-        verify(jwtService).deleteRefreshTokenByUser(user);
+        verify(repo, never()).findByEmail(any());
     }
 
     @Test
     void login_ShouldThrowException_WhenEmailNotVerified() {
         LoginRequest request = new LoginRequest("test@example.com", "password123");
-        User user = new User("Test", "test@example.com", "hashedPassword");
-        user.setEmailVerified(false);
 
-        when(repo.findByEmail(request.email())).thenReturn(Optional.of(user));
+        when(repo.findLoginCredentialsByEmail(request.email())).thenReturn(Optional.of(credentials(false)));
 
         assertThrows(EmailNotVerifiedException.class, () -> authService.login(request));
     }
@@ -115,12 +191,35 @@ class AuthServiceTest {
     @Test
     void login_ShouldThrowException_WhenCredentialsInvalid() {
         LoginRequest request = new LoginRequest("test@example.com", "wrongPassword");
-        User user = new User("Test", "test@example.com", "hashedPassword");
-        user.setEmailVerified(true);
 
-        when(repo.findByEmail(request.email())).thenReturn(Optional.of(user));
+        when(repo.findLoginCredentialsByEmail(request.email())).thenReturn(Optional.of(credentials(true)));
         when(pwdEncoder.matches(anyString(), anyString())).thenReturn(false);
 
         assertThrows(InvalidCredentialsException.class, () -> authService.login(request));
     }
+
+    @Test
+    void refreshToken_ShouldMintAccessTokenFromRotatedClaims() {
+        UserClaims claims = new UserClaims(UUID.randomUUID(), "test@example.com", SystemRole.USER, true);
+        when(jwtService.rotateRefreshToken("old")).thenReturn(Optional.of(new RefreshTokenRotation(claims, "new")));
+        when(jwtService.generateAccessToken(claims)).thenReturn("accessToken");
+
+        TokenRefreshResponse response = authService.refreshToken(new TokenRefreshRequest("old"));
+
+        assertEquals("accessToken", response.access_token());
+        assertEquals("new", response.refresh_token());
+    }
+
+    @Test
+    void refreshToken_ShouldThrowException_WhenTokenIsNotCurrent() {
+        when(jwtService.rotateRefreshToken("old")).thenReturn(Optional.empty());
+
+        assertThrows(RefreshTokenExpiredException.class,
+                () -> authService.refreshToken(new TokenRefreshRequest("old")));
+    }
+
+    private static LoginCredentials credentials(boolean emailVerified) {
+        return new LoginCredentials(
+                UUID.randomUUID(), "test@example.com", "hashedPassword", SystemRole.USER, emailVerified);
+    }
 }
@@ -1,8 +1,10 @@
 package com.auvexis.vanguard.modules.auth.application;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -12,8 +14,13 @@ import java.util.UUID;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import com.auvexis.vanguard.modules.auth.application.exception.EmailAlreadyVerifiedException;
 import com.auvexis.vanguard.modules.auth.application.exception.EmailNotFoundException;
@@ -22,6 +29,7 @@ import com.auvexis.vanguard.modules.auth.domain.EmailVerification;
 import com.auvexis.vanguard.modules.auth.domain.User;
 import com.auvexis.vanguard.modules.auth.infrastructure.repository.EmailVerificationRepository;
 import com.auvexis.vanguard.modules.auth.infrastructure.repository.UserRepository;
+import com.auvexis.vanguard.modules.auth.infrastructure.security.VerificationTokenService;
 import com.auvexis.vanguard.modules.auth.messaging.UserPublisher;
 import com.auvexis.vanguard.shared.events.UserEmailVerificationEvent;
 
@@ -34,23 +42,31 @@ class VerificationServiceTest {
     private EmailVerificationRepository emailVerificationRepository;
     @Mock
     private UserPublisher userPublisher;
+    @Mock
+    private CacheManager cacheManager;
+    @Mock
+    private Cache profileCache;
+
+    private final VerificationTokenService verificationTokens = new VerificationTokenService("test-secret");
 
     private VerificationService verificationService;
 
     @BeforeEach
     void setUp() {
-        verificationService = new VerificationService(repo, emailVerificationRepository, userPublisher);
+        verificationService = new VerificationService(
+                repo, emailVerificationRepository, userPublisher, cacheManager, verificationTokens);
     }
 
     @Test
     void verifyEmail_ShouldUpdateUser_WhenTokenIsValid() {
         UUID userId = UUID.randomUUID();
-        String token = "validToken";
+        String seed = verificationTokens.newSeed();
+        String token = verificationTokens.tokenFor(userId, seed);
         User user = new User();
         user.setEmailVerified(false);
-        EmailVerification verification = new EmailVerification(user, token);
+        EmailVerification verification = new EmailVerification(user, seed);
 
-        when(emailVerificationRepository.findByTokenHashAndUserId(token, userId)).thenReturn(Optional.of(verification));
+        when(emailVerificationRepository.findByUserId(userId)).thenReturn(Optional.of(verification));
 
         verificationService.verifyEmail(userId, token);
 
@@ -59,9 +75,44 @@ class VerificationServiceTest {
         verify(emailVerificationRepository).save(verification);
     }
 
+    @Test
+    void verifyEmail_ShouldEvictProfileOnlyAfterCommit() {
+        UUID userId = UUID.randomUUID();
+        String seed = verificationTokens.newSeed();
+        User user = new User("Test", "test@example.com", "hashedPassword");
+        EmailVerification verification = new EmailVerification(user, seed);
+
+        when(emailVerificationRepository.findByUserId(userId)).thenReturn(Optional.of(verification));
+        when(cacheManager.getCache(AuthService.PROFILE_CACHE)).thenReturn(profileCache);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            verificationService.verifyEmail(userId, verificationTokens.tokenFor(userId, seed));
+            verify(profileCache, never()).evict(any());
+
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        verify(profileCache).evict("test@example.com");
+    }
+
     @Test
     void verifyEmail_ShouldThrowException_WhenTokenIsInvalid() {
-        when(emailVerificationRepository.findByTokenHashAndUserId(any(), any())).thenReturn(Optional.empty());
+        UUID userId = UUID.randomUUID();
+        EmailVerification verification = new EmailVerification(new User(), verificationTokens.newSeed());
+        when(emailVerificationRepository.findByUserId(userId)).thenReturn(Optional.of(verification));
+
+        assertThrows(EmailVerificationTokenInvalidException.class,
+                () -> verificationService.verifyEmail(userId, "invalid"));
+        verify(repo, never()).save(any());
+    }
+
+    @Test
+    void verifyEmail_ShouldThrowException_WhenNoVerificationExists() {
+        when(emailVerificationRepository.findByUserId(any())).thenReturn(Optional.empty());
 
         assertThrows(EmailVerificationTokenInvalidException.class,
                 () -> verificationService.verifyEmail(UUID.randomUUID(), "invalid"));
@@ -73,14 +124,16 @@ class VerificationServiceTest {
         User user = new User("Test", email, "pwd");
         user.setId(UUID.randomUUID());
 
-        EmailVerification verification = new EmailVerification(user, "token123");
+        EmailVerification verification = new EmailVerification(user, verificationTokens.newSeed());
 
         when(repo.findByEmail(email)).thenReturn(Optional.of(user));
         when(emailVerificationRepository.findByUserId(user.getId())).thenReturn(Optional.of(verification));
 
         verificationService.resendVerificationEmail(email);
 
-        verify(userPublisher).publishUserEmailVerificationResend(any(UserEmailVerificationEvent.class));
+        ArgumentCaptor<UserEmailVerificationEvent> captor = ArgumentCaptor.forClass(UserEmailVerificationEvent.class);
+        verify(userPublisher).publishUserEmailVerificationResend(captor.capture());
+        assertEquals(verificationTokens.tokenFor(user.getId(), verification.getTokenSeed()), captor.getValue().token());
     }
 
     @Test
@@ -0,0 +1,131 @@
+package com.auvexis.vanguard.modules.auth.infrastructure.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.GenericContainer;
+
+import com.auvexis.vanguard.modules.auth.infrastructure.repository.UserRepository;
+
+/**
+ * Tests for RegisteredEmailIndex against a real Redis, since the rebuild swap
+ * is a Lua script. A throwaway container is started unless
+ * {@code -Dredis.test.host} (and optionally {@code -Dredis.test.port}) point
+ * at a disposable Redis; skipped when neither is available.
+ */
+@EnabledIf("redisAvailable")
+class RegisteredEmailIndexTest {
+
+    private static GenericContainer<?> container;
+    private static LettuceConnectionFactory connectionFactory;
+    private static StringRedisTemplate redisTemplate;
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private RegisteredEmailIndex index;
+
+    static boolean redisAvailable() {
+        return System.getProperty("redis.test.host") != null || DockerClientFactory.instance().isDockerAvailable();
+    }
+
+    @BeforeAll
+    static void startRedis() {
+        String host = System.getProperty("redis.test.host");
+        int port = Integer.getInteger("redis.test.port", 6379);
+
+        if (host == null) {
+            container = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+            container.start();
+            host = container.getHost();
+            port = container.getMappedPort(6379);
+        }
+
+        connectionFactory = new LettuceConnectionFactory(host, port);
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+    }
+
+    @AfterAll
+    static void stopRedis() {
+        if (connectionFactory != null) {
+            connectionFactory.destroy();
+        }
+        if (container != null) {
+            container.stop();
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate.delete(redisTemplate.keys(RegisteredEmailIndex.KEY + "*"));
+        index = new RegisteredEmailIndex(redisTemplate, userRepository, 2, 60000);
+    }
+
+    /**
+     * Test that a rebuild replaces the live set with the emails in the
+     * database.
+     */
+    @Test
+    void rebuild_replacesLiveSet() {
+        index.add("stale@example.com");
+        when(userRepository.findEmailsAfter(anyString(), any()))
+                .thenReturn(List.of("a@example.com", "b@example.com"))
+                .thenReturn(List.of("c@example.com"));
+
+        index.rebuild();
+
+        assertEquals(Set.of("a@example.com", "b@example.com", "c@example.com"),
+                redisTemplate.opsForSet().members(RegisteredEmailIndex.KEY));
+    }
+
+    /**
+     * Test that an account deleted after its page was read is not brought
+     * back when the rebuilt set is swapped in.
+     */
+    @Test
+    void rebuild_doesNotRestoreEmailsDeletedMeanwhile() {
+        index.add("gone@example.com");
+        when(userRepository.findEmailsAfter(anyString(), any()))
+                .thenAnswer(invocation -> {
+                    index.removeAll(List.of("gone@example.com"));
+                    return List.of("a@example.com", "gone@example.com");
+                })
+                .thenReturn(List.of("z@example.com"));
+
+        index.rebuild();
+
+        assertFalse(index.isRegistered("gone@example.com"));
+        assertTrue(index.isRegistered("a@example.com"));
+        assertTrue(index.isRegistered("z@example.com"));
+        assertEquals(Set.of(RegisteredEmailIndex.KEY), redisTemplate.keys(RegisteredEmailIndex.KEY + "*"));
+    }
+
+    /**
+     * Test that an empty database leaves no index behind.
+     */
+    @Test
+    void rebuild_withNoUsers_clearsIndex() {
+        index.add("stale@example.com");
+        when(userRepository.findEmailsAfter(anyString(), any())).thenReturn(List.of());
+
+        index.rebuild();
+
+        assertFalse(index.isRegistered("stale@example.com"));
+    }
+}
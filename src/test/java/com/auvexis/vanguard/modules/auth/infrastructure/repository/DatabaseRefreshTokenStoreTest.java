@@ -0,0 +1,121 @@
+package com.auvexis.vanguard.modules.auth.infrastructure.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.CannotAcquireLockException;
+
+import com.auvexis.vanguard.modules.auth.application.exception.RefreshTokenExpiredException;
+import com.auvexis.vanguard.modules.auth.domain.SystemRole;
+import com.auvexis.vanguard.modules.auth.domain.User;
+import com.auvexis.vanguard.modules.auth.infrastructure.repository.RefreshTokenRepository.RotatedRefreshToken;
+import com.auvexis.vanguard.modules.auth.infrastructure.repository.RefreshTokenStore.RefreshTokenRotation;
+
+
+@ExtendWith(MockitoExtension.class)
+class DatabaseRefreshTokenStoreTest {
+
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @InjectMocks
+    private DatabaseRefreshTokenStore store;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = new User("Test", "test@example.com", "hashedPassword");
+        user.setId(UUID.randomUUID());
+    }
+
+    @Test
+    void create_ShouldReplaceExistingToken() {
+        store.create(user.getId(), "token", Duration.ofMinutes(5));
+
+        ArgumentCaptor<Instant> captor = ArgumentCaptor.forClass(Instant.class);
+        InOrder inOrder = inOrder(refreshTokenRepository);
+        inOrder.verify(refreshTokenRepository).lockForUser(user.getId());
+        inOrder.verify(refreshTokenRepository).replaceForUser(eq(user.getId()), eq("token"), captor.capture());
+        assertTrue(captor.getValue().isAfter(Instant.now()));
+    }
+
+    @Test
+    void revokeAll_ShouldDeleteWithOneStatement() {
+        store.revokeAll(user);
+
+        verify(refreshTokenRepository).deleteAllByUserId(user.getId());
+    }
+
+    @Test
+    void rotate_ShouldIssueNewToken_WhenTokenIsValid() {
+        when(refreshTokenRepository.rotate(eq("old"), eq("new"), any(Instant.class)))
+                .thenReturn(Optional.of(rotated()));
+
+        Optional<RefreshTokenRotation> rotation = store.rotate("old", "new", Duration.ofMinutes(5));
+
+        assertTrue(rotation.isPresent());
+        assertEquals(
+                new UserClaims(user.getId(), "test@example.com", SystemRole.USER, true),
+                rotation.get().user());
+        assertEquals("new", rotation.get().refreshToken());
+    }
+
+    @Test
+    void rotate_ShouldReturnEmpty_WhenTokenIsUnknownOrExpired() {
+        when(refreshTokenRepository.rotate(eq("old"), eq("new"), any(Instant.class))).thenReturn(Optional.empty());
+
+        assertTrue(store.rotate("old", "new", Duration.ofMinutes(5)).isEmpty());
+    }
+
+    @Test
+    void rotate_ShouldThrow_WhenConcurrentRotationWon() {
+        when(refreshTokenRepository.rotate(eq("old"), eq("new"), any(Instant.class)))
+                .thenThrow(new CannotAcquireLockException("tuple moved to another partition"));
+
+        assertThrows(RefreshTokenExpiredException.class, () -> store.rotate("old", "new", Duration.ofMinutes(5)));
+    }
+
+    private RotatedRefreshToken rotated() {
+        return new RotatedRefreshToken() {
+            @Override
+            public UUID getId() {
+                return user.getId();
+            }
+
+            @Override
+            public String getEmail() {
+                return user.getEmail();
+            }
+
+            @Override
+            public String getSystemRole() {
+                return "USER";
+            }
+
+            @Override
+            public boolean getEmailVerified() {
+                return true;
+            }
+        };
+    }
+}
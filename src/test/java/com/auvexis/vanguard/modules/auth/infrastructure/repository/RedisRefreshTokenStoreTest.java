@@ -0,0 +1,162 @@
+package com.auvexis.vanguard.modules.auth.infrastructure.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.GenericContainer;
+
+import com.auvexis.vanguard.modules.auth.domain.SystemRole;
+import com.auvexis.vanguard.modules.auth.domain.User;
+import com.auvexis.vanguard.modules.auth.infrastructure.repository.RefreshTokenStore.RefreshTokenRotation;
+
+/**
+ * Tests for RedisRefreshTokenStore against a real Redis, since every change
+ * is a Lua script. A throwaway container is started unless
+ * {@code -Dredis.test.host} (and optionally {@code -Dredis.test.port}) point
+ * at a disposable Redis; skipped when neither is available.
+ */
+@EnabledIf("redisAvailable")
+class RedisRefreshTokenStoreTest {
+
+    private static final Duration TTL = Duration.ofMinutes(5);
+
+    private static GenericContainer<?> container;
+    private static LettuceConnectionFactory connectionFactory;
+    private static StringRedisTemplate redisTemplate;
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private RedisRefreshTokenStore store;
+    private User user;
+
+    static boolean redisAvailable() {
+        return System.getProperty("redis.test.host") != null || DockerClientFactory.instance().isDockerAvailable();
+    }
+
+    @BeforeAll
+    static void startRedis() {
+        String host = System.getProperty("redis.test.host");
+        int port = Integer.getInteger("redis.test.port", 6379);
+
+        if (host == null) {
+            container = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+            container.start();
+            host = container.getHost();
+            port = container.getMappedPort(6379);
+        }
+
+        connectionFactory = new LettuceConnectionFactory(host, port);
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+    }
+
+    @AfterAll
+    static void stopRedis() {
+        if (connectionFactory != null) {
+            connectionFactory.destroy();
+        }
+        if (container != null) {
+            container.stop();
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate.delete(redisTemplate.keys("auth:refresh:*"));
+        store = new RedisRefreshTokenStore(redisTemplate, userRepository);
+
+        user = new User("Test", "test@example.com", "hashedPassword");
+        user.setId(UUID.randomUUID());
+    }
+
+    @Test
+    void create_ShouldReplaceExistingToken() {
+        store.create(user.getId(), "first", TTL);
+        store.create(user.getId(), "second", TTL);
+
+        assertNull(redisTemplate.opsForValue().get(RedisRefreshTokenStore.TOKEN_PREFIX + "first"));
+        assertEquals(user.getId().toString(),
+                redisTemplate.opsForValue().get(RedisRefreshTokenStore.TOKEN_PREFIX + "second"));
+        assertEquals("second", redisTemplate.opsForValue().get(RedisRefreshTokenStore.USER_PREFIX + user.getId()));
+    }
+
+    @Test
+    void create_ShouldLeaveOneValidTokenUnderConcurrentLogins() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> logins = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                String token = "token-" + i;
+                logins.add(executor.submit(() -> store.create(user.getId(), token, TTL)));
+            }
+            for (Future<?> login : logins) {
+                login.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        String current = redisTemplate.opsForValue().get(RedisRefreshTokenStore.USER_PREFIX + user.getId());
+        when(userRepository.findClaimsById(user.getId()))
+                .thenReturn(Optional.of(new UserClaims(user.getId(), user.getEmail(), SystemRole.USER, true)));
+
+        for (int i = 0; i < 20; i++) {
+            String token = "token-" + i;
+            assertEquals(token.equals(current), store.rotate(token, "rotated-" + i, TTL).isPresent());
+        }
+    }
+
+    @Test
+    void rotate_ShouldSwapTokenAndReturnOwner() {
+        UserClaims claims = new UserClaims(user.getId(), user.getEmail(), SystemRole.USER, true);
+        when(userRepository.findClaimsById(user.getId())).thenReturn(Optional.of(claims));
+        store.create(user.getId(), "old", TTL);
+
+        Optional<RefreshTokenRotation> rotation = store.rotate("old", "new", TTL);
+
+        assertTrue(rotation.isPresent());
+        assertEquals(claims, rotation.get().user());
+        assertEquals("new", rotation.get().refreshToken());
+        assertNull(redisTemplate.opsForValue().get(RedisRefreshTokenStore.TOKEN_PREFIX + "old"));
+        assertEquals("new", redisTemplate.opsForValue().get(RedisRefreshTokenStore.USER_PREFIX + user.getId()));
+        assertFalse(store.rotate("old", "newer", TTL).isPresent());
+    }
+
+    @Test
+    void rotate_ShouldRejectUnknownToken() {
+        assertFalse(store.rotate("missing", "new", TTL).isPresent());
+        assertNull(redisTemplate.opsForValue().get(RedisRefreshTokenStore.TOKEN_PREFIX + "new"));
+    }
+
+    @Test
+    void revokeAll_ShouldDeleteUserAndTokenKeys() {
+        store.create(user.getId(), "token", TTL);
+
+        store.revokeAll(user);
+
+        assertEquals(Set.of(), redisTemplate.keys("auth:refresh:*"));
+        assertFalse(store.rotate("token", "new", TTL).isPresent());
+    }
+}
@@ -0,0 +1,66 @@
+package com.auvexis.vanguard.modules.auth.infrastructure.repository;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Guards {@link RepositoryQueryPlanTest}: needs no database, so it runs even
+ * when the plan checks themselves are skipped.
+ */
+class RepositoryQueryCoverageTest {
+
+    private static final List<Class<?>> REPOSITORIES = List.of(
+            UserRepository.class,
+            RefreshTokenRepository.class,
+            EmailVerificationRepository.class);
+
+    /**
+     * Test that a new repository query cannot be added without a plan check.
+     */
+    @Test
+    void everyRepositoryQueryIsCovered() {
+        Set<String> invoked = RepositoryQueryPlanTest.invocations().keySet();
+
+        List<String> missing = new ArrayList<>();
+        for (String method : declaredMethods()) {
+            if (!invoked.contains(method)) {
+                missing.add(method);
+            }
+        }
+        assertTrue(missing.isEmpty(), "No query plan check for " + missing);
+    }
+
+    /**
+     * Test that no plan check is left behind for a query that was renamed or
+     * removed.
+     */
+    @Test
+    void everyPlanCheckNamesARepositoryQuery() {
+        Set<String> declared = declaredMethods();
+
+        List<String> stale = new ArrayList<>();
+        for (String invocation : RepositoryQueryPlanTest.invocations().keySet()) {
+            if (!invocation.startsWith("cascade.") && !declared.contains(invocation)) {
+                stale.add(invocation);
+            }
+        }
+        assertTrue(stale.isEmpty(), "Plan checks for unknown queries " + stale);
+    }
+
+    private static Set<String> declaredMethods() {
+        Set<String> methods = new HashSet<>();
+        for (Class<?> repository : REPOSITORIES) {
+            for (Method method : repository.getDeclaredMethods()) {
+                methods.add(repository.getSimpleName() + "." + method.getName());
+            }
+        }
+        return methods;
+    }
+}
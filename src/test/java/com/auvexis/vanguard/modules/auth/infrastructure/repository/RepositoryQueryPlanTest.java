@@ -0,0 +1,359 @@
+package com.auvexis.vanguard.modules.auth.infrastructure.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.lang.NonNull;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import com.auvexis.vanguard.modules.auth.infrastructure.repository.StatementRecorder.RecordedStatement;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Query plan regression tests: calls every query method of the auth
+ * repositories against large fixture tables, records the SQL Hibernate
+ * actually sends and its bind values, and fails if EXPLAIN shows any of those
+ * tables read with a sequential scan.
+ *
+ * Each statement is planned through {@code PREPARE} / {@code EXPLAIN EXECUTE}
+ * with its bind values, once as a custom plan and once as the generic plan a
+ * prepared statement switches to after a few executions.
+ *
+ * Needs PostgreSQL; H2 plans say nothing about production. By default a
+ * throwaway container is started, and the test is skipped when Docker is not
+ * available. To use an existing disposable database instead, run with:
+ * {@code mvn test -Dtest=RepositoryQueryPlanTest
+ * -Dexplain.url=jdbc:postgresql://localhost:5432/vanguard_test
+ * -Dexplain.user=postgres -Dexplain.password=postgres}
+ *
+ * The migrations are applied to it and the fixtures are loaded in each test's
+ * transaction, which is rolled back at the end.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@EnabledIf("postgresAvailable")
+class RepositoryQueryPlanTest {
+
+    private static final int USERS = 50_000;
+
+    /**
+     * Tables with fewer rows are too small for the planner to prefer an index.
+     */
+    private static final int LARGE_TABLE_ROWS = 1_000;
+
+    private static final List<String> PLAN_CACHE_MODES = List.of("force_custom_plan", "force_generic_plan");
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private static PostgreSQLContainer<?> container;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private EmailVerificationRepository emailVerificationRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Set<String> largeTables;
+    private Fixture fixture;
+
+    static boolean postgresAvailable() {
+        return System.getProperty("explain.url") != null || DockerClientFactory.instance().isDockerAvailable();
+    }
+
+    @DynamicPropertySource
+    static void postgres(DynamicPropertyRegistry registry) {
+        if (System.getProperty("explain.url") == null) {
+            container = new PostgreSQLContainer<>("postgres:16-alpine");
+            container.start();
+            registry.add("spring.datasource.url", container::getJdbcUrl);
+            registry.add("spring.datasource.username", container::getUsername);
+            registry.add("spring.datasource.password", container::getPassword);
+        } else {
+            registry.add("spring.datasource.url", () -> System.getProperty("explain.url"));
+            registry.add("spring.datasource.username", () -> System.getProperty("explain.user", "postgres"));
+            registry.add("spring.datasource.password", () -> System.getProperty("explain.password", ""));
+        }
+        registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
+        registry.add("spring.jpa.database-platform", () -> "org.hibernate.dialect.PostgreSQLDialect");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "none");
+        registry.add("spring.flyway.enabled", () -> "true");
+    }
+
+    @TestConfiguration
+    static class RecordingConfiguration {
+
+        @Bean
+        static BeanPostProcessor recordingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(@NonNull Object bean, @NonNull String beanName) {
+                    return bean instanceof DataSource dataSource ? StatementRecorder.wrap(dataSource) : bean;
+                }
+            };
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("""
+                INSERT INTO auth.users (id, name, email, password_hash, email_verified, created_at)
+                SELECT gen_random_uuid(), 'User ' || i, 'user' || i || '@example.com', 'hash',
+                       i %% 20 <> 0, now() - i * INTERVAL '1 minute'
+                FROM generate_series(1, %d) AS i
+                """.formatted(USERS));
+        jdbcTemplate.execute("""
+                INSERT INTO auth.refresh_tokens (token, user_id, expiry_date)
+                SELECT gen_random_uuid()::text, id, now() + (1 + floor(random() * 6)) * INTERVAL '1 day'
+                FROM auth.users
+                """);
+        jdbcTemplate.execute("""
+                INSERT INTO auth.email_verifications (user_id, token_seed)
+                SELECT id, md5(id::text)
+                FROM auth.users
+                """);
+        jdbcTemplate.execute("ANALYZE auth.users");
+        jdbcTemplate.execute("ANALYZE auth.refresh_tokens");
+        jdbcTemplate.execute("ANALYZE auth.email_verifications");
+
+        largeTables = new HashSet<>(strings("""
+                SELECT c.relname FROM pg_class c
+                JOIN pg_namespace n ON n.oid = c.relnamespace
+                WHERE n.nspname = 'auth' AND c.relkind = 'r' AND c.reltuples >= %d
+                """.formatted(LARGE_TABLE_ROWS)));
+
+        UUID userId = UUID.fromString(
+                strings("SELECT id::text FROM auth.users WHERE email = 'user42@example.com'").get(0));
+        String token = strings("SELECT token FROM auth.refresh_tokens WHERE user_id = '" + userId + "'").get(0);
+        fixture = new Fixture(
+                userRepository, refreshTokenRepository, emailVerificationRepository, jdbcTemplate, userId, token);
+    }
+
+    /**
+     * What the plan checks call the repositories with: the fixture user and
+     * its refresh token.
+     */
+    record Fixture(
+            UserRepository users,
+            RefreshTokenRepository refreshTokens,
+            EmailVerificationRepository emailVerifications,
+            JdbcTemplate jdbc,
+            UUID userId,
+            String token) {
+    }
+
+    /**
+     * A call of each repository query method, keyed by
+     * {@code Repository.method}. Entries prefixed {@code cascade.} stand for
+     * the statements the foreign keys run when a user is deleted.
+     */
+    static Map<String, Consumer<Fixture>> invocations() {
+        Map<String, Consumer<Fixture>> invocations = new LinkedHashMap<>();
+        invocations.put("UserRepository.findByEmail",
+                f -> f.users().findByEmail("user42@example.com"));
+        invocations.put("UserRepository.findLoginCredentialsByEmail",
+                f -> f.users().findLoginCredentialsByEmail("user42@example.com"));
+        invocations.put("UserRepository.findClaimsById",
+                f -> f.users().findClaimsById(f.userId()));
+        invocations.put("UserRepository.findEmailsAfter",
+                f -> f.users().findEmailsAfter("user25000@example.com", PageRequest.ofSize(5000)));
+        invocations.put("UserRepository.deleteUnverifiedUsersCreatedBefore",
+                f -> f.users().deleteUnverifiedUsersCreatedBefore(Instant.now().minus(Duration.ofDays(1)), 500));
+        invocations.put("RefreshTokenRepository.rotate",
+                f -> f.refreshTokens().rotate(f.token(), "new-token", Instant.now().plus(Duration.ofDays(7))));
+        invocations.put("RefreshTokenRepository.deleteAllByUserId",
+                f -> f.refreshTokens().deleteAllByUserId(f.userId()));
+        invocations.put("RefreshTokenRepository.lockForUser",
+                f -> f.refreshTokens().lockForUser(f.userId()));
+        invocations.put("RefreshTokenRepository.replaceForUser",
+                f -> f.refreshTokens().replaceForUser(
+                        f.userId(), "replaced-token", Instant.now().plus(Duration.ofDays(7))));
+        invocations.put("EmailVerificationRepository.findByUserId",
+                f -> f.emailVerifications().findByUserId(f.userId()));
+
+        invocations.put("cascade.refresh_tokens",
+                f -> f.jdbc().update("DELETE FROM auth.refresh_tokens WHERE user_id = ?", f.userId()));
+        invocations.put("cascade.email_verifications",
+                f -> f.jdbc().update("DELETE FROM auth.email_verifications WHERE user_id = ?", f.userId()));
+        return invocations;
+    }
+
+    @AfterAll
+    static void tearDown() {
+        if (container != null) {
+            container.stop();
+        }
+    }
+
+    /**
+     * Test that partition maintenance creates upcoming partitions and drops
+     * the expired ones, and that one partition it cannot drop does not stop
+     * the others.
+     */
+    @Test
+    void partitionMaintenanceDropsExpiredPartitions() {
+        jdbcTemplate.execute("""
+                CREATE TABLE auth.refresh_tokens_p20000101 PARTITION OF auth.refresh_tokens
+                FOR VALUES FROM ('2000-01-01 00:00+00') TO ('2000-01-02 00:00+00')
+                """);
+        jdbcTemplate.execute("""
+                CREATE TABLE auth.refresh_tokens_p20000102 PARTITION OF auth.refresh_tokens
+                FOR VALUES FROM ('2000-01-02 00:00+00') TO ('2000-01-03 00:00+00')
+                """);
+        jdbcTemplate.execute("CREATE VIEW auth.pinned_partition AS SELECT * FROM auth.refresh_tokens_p20000102");
+
+        assertEquals(List.of("1", "1"), strings("""
+                SELECT unnest(ARRAY[dropped, failed])::text
+                FROM auth.maintain_refresh_token_partitions(40)
+                """));
+        assertNull(strings("SELECT to_regclass('auth.refresh_tokens_p20000101')::text").get(0));
+        assertNotNull(strings("SELECT to_regclass('auth.refresh_tokens_p20000102')::text").get(0));
+        assertNotNull(strings("""
+                SELECT to_regclass('auth.refresh_tokens_p'
+                        || to_char((now() AT TIME ZONE 'UTC')::date + 40, 'YYYYMMDD'))::text
+                """).get(0));
+    }
+
+    /**
+     * Test that tokens which landed in the default partition are moved into
+     * their daily partition once it is created, instead of blocking it.
+     */
+    @Test
+    void partitionMaintenanceMovesTokensOutOfDefaultPartition() {
+        jdbcTemplate.execute("""
+                INSERT INTO auth.refresh_tokens (token, user_id, expiry_date)
+                SELECT 'far-future', id, now() + INTERVAL '60 days'
+                FROM auth.users WHERE email = 'user7@example.com'
+                """);
+        assertEquals("1", strings("SELECT count(*)::text FROM auth.refresh_tokens_default").get(0));
+
+        assertEquals(List.of("0", "0"), strings("""
+                SELECT unnest(ARRAY[failed, defaulted])::text
+                FROM auth.maintain_refresh_token_partitions(61)
+                """));
+        assertEquals("refresh_tokens_p" + strings("""
+                SELECT to_char((now() + INTERVAL '60 days') AT TIME ZONE 'UTC', 'YYYYMMDD')
+                """).get(0), strings("""
+                SELECT tableoid::regclass::text FROM auth.refresh_tokens WHERE token = 'far-future'
+                """).get(0).replace("auth.", ""));
+    }
+
+    /**
+     * Test that no query reads a large table sequentially.
+     */
+    @Test
+    void noQueryScansLargeTables() throws Exception {
+        List<String> failures = new ArrayList<>();
+
+        for (Map.Entry<String, Consumer<Fixture>> invocation : invocations().entrySet()) {
+            List<RecordedStatement> statements = StatementRecorder.record(() -> invocation.getValue().accept(fixture));
+            if (statements.isEmpty()) {
+                failures.add(invocation.getKey() + " sent no statement");
+            }
+
+            for (RecordedStatement statement : statements) {
+                for (String planCacheMode : PLAN_CACHE_MODES) {
+                    String plan = explain(statement, planCacheMode);
+                    List<String> scanned = new ArrayList<>();
+                    collectSeqScans(objectMapper.readTree(plan).get(0).get("Plan"), scanned);
+
+                    if (!scanned.isEmpty()) {
+                        failures.add(invocation.getKey() + " scans " + scanned + " with " + planCacheMode
+                                + ":\n" + statement.sql() + "\n" + plan);
+                    }
+                }
+            }
+        }
+
+        if (!failures.isEmpty()) {
+            fail(String.join("\n\n", failures));
+        }
+    }
+
+    /**
+     * Prepares the statement as sent and explains its execution with the
+     * recorded bind values. {@code EXECUTE} cannot take bind parameters
+     * itself, so the values are passed as literals cast to the parameter
+     * types PostgreSQL inferred for the prepared statement.
+     */
+    private String explain(RecordedStatement statement, String planCacheMode) {
+        jdbcTemplate.execute("PREPARE plan_check AS " + statement.numberedSql());
+        try {
+            List<String> types = strings("""
+                    SELECT p.type::text
+                    FROM pg_prepared_statements s, unnest(s.parameter_types) WITH ORDINALITY AS p(type, position)
+                    WHERE s.name = 'plan_check'
+                    ORDER BY p.position
+                    """);
+            List<String> arguments = new ArrayList<>();
+            for (int i = 0; i < types.size(); i++) {
+                arguments.add("CAST(" + literal(statement.parameters().get(i)) + " AS " + types.get(i) + ")");
+            }
+
+            jdbcTemplate.execute("SET LOCAL plan_cache_mode = " + planCacheMode);
+            return String.join("\n", strings("EXPLAIN (FORMAT JSON) EXECUTE plan_check"
+                    + (arguments.isEmpty() ? "" : "(" + String.join(", ", arguments) + ")")));
+        } finally {
+            jdbcTemplate.execute("DEALLOCATE plan_check");
+        }
+    }
+
+    private static String literal(Object value) {
+        if (value == null) {
+            return "NULL";
+        }
+        String text = value instanceof Timestamp timestamp ? timestamp.toInstant().toString() : value.toString();
+        return "'" + text.replace("'", "''") + "'";
+    }
+
+    private void collectSeqScans(JsonNode node, List<String> scanned) {
+        if ("Seq Scan".equals(node.path("Node Type").asText())
+                && largeTables.contains(node.path("Relation Name").asText())) {
+            scanned.add(node.path("Relation Name").asText());
+        }
+        for (JsonNode child : node.path("Plans")) {
+            collectSeqScans(child, scanned);
+        }
+    }
+
+    private List<String> strings(String sql) {
+        return jdbcTemplate.queryForList(sql, String.class);
+    }
+}
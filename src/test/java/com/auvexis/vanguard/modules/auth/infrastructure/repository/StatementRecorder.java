@@ -0,0 +1,118 @@
+package com.auvexis.vanguard.modules.auth.infrastructure.repository;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import javax.sql.DataSource;
+
+/**
+ * Records the prepared statements a piece of code sends to the database,
+ * together with their bind values, by wrapping the {@link DataSource}.
+ * Recording happens at the JDBC level rather than in a Hibernate statement
+ * inspector because the inspector never sees the bound values.
+ */
+final class StatementRecorder {
+
+    private static final ThreadLocal<List<RecordedStatement>> recording = new ThreadLocal<>();
+
+    private StatementRecorder() {
+    }
+
+    /**
+     * Runs the invocation and returns every statement it executed on this
+     * thread.
+     */
+    static List<RecordedStatement> record(Runnable invocation) {
+        List<RecordedStatement> statements = new ArrayList<>();
+        recording.set(statements);
+        try {
+            invocation.run();
+        } finally {
+            recording.remove();
+        }
+        return statements;
+    }
+
+    static DataSource wrap(DataSource dataSource) {
+        return proxy(DataSource.class, (proxy, method, args) -> {
+            Object result = invoke(dataSource, method, args);
+            return method.getName().equals("getConnection") ? connection((Connection) result) : result;
+        });
+    }
+
+    private static Connection connection(Connection connection) {
+        return proxy(Connection.class, (proxy, method, args) -> {
+            Object result = invoke(connection, method, args);
+            return method.getName().equals("prepareStatement")
+                    ? preparedStatement((PreparedStatement) result, (String) args[0])
+                    : result;
+        });
+    }
+
+    private static PreparedStatement preparedStatement(PreparedStatement statement, String sql) {
+        Map<Integer, Object> parameters = new TreeMap<>();
+        return proxy(PreparedStatement.class, (proxy, method, args) -> {
+            String name = method.getName();
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                parameters.put(index, name.equals("setNull") ? null : args[1]);
+            } else if (name.equals("clearParameters")) {
+                parameters.clear();
+            } else if ((name.startsWith("execute") && !name.equals("executeBatch")) || name.equals("addBatch")) {
+                List<RecordedStatement> statements = recording.get();
+                if (statements != null) {
+                    statements.add(new RecordedStatement(sql, new ArrayList<>(parameters.values())));
+                }
+            }
+            return invoke(statement, method, args);
+        });
+    }
+
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(
+                StatementRecorder.class.getClassLoader(), new Class<?>[] { type }, handler));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * A statement as sent by the driver, with {@code ?} placeholders, and its
+     * bind values in placeholder order.
+     */
+    record RecordedStatement(String sql, List<Object> parameters) {
+
+        /**
+         * The SQL with its placeholders numbered {@code $1, $2, ...}, as
+         * {@code PREPARE} expects. Quoted literals are left alone.
+         */
+        String numberedSql() {
+            StringBuilder numbered = new StringBuilder();
+            boolean quoted = false;
+            int index = 0;
+            for (char c : sql.toCharArray()) {
+                if (c == '\'') {
+                    quoted = !quoted;
+                }
+                if (c == '?' && !quoted) {
+                    numbered.append('$').append(++index);
+                } else {
+                    numbered.append(c);
+                }
+            }
+            return numbered.toString();
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.auvexis.vanguard.modules.auth.infrastructure.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.NoOpPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.auvexis.vanguard.modules.auth.application.exception.PasswordHashingUnavailableException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class BoundedPasswordEncoderTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private BoundedPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        encoder.shutdown();
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    void encodeAndMatches_ShouldDelegate() {
+        encoder = new BoundedPasswordEncoder(NoOpPasswordEncoder.getInstance(), meterRegistry, 1, 4, 1000, 1);
+
+        assertEquals("secret", encoder.encode("secret"));
+        assertTrue(encoder.matches("secret", "secret"));
+        assertEquals(1, meterRegistry.get("vanguard.auth.password.hash").tag("operation", "encode").timer().count());
+    }
+
+    @Test
+    void encode_WhenPoolSaturated_ShouldFailFast() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        encoder = new BoundedPasswordEncoder(blockingEncoder(started, release), meterRegistry, 1, 1, 5000, 3);
+
+        // One task running, one queued: the third must be rejected
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("a"));
+        assertTrue(started.await(1, TimeUnit.SECONDS));
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> encoder.encode("b"));
+        waitForQueue(1);
+
+        PasswordHashingUnavailableException exception = assertThrows(PasswordHashingUnavailableException.class,
+                () -> encoder.encode("c"));
+        assertEquals(3, exception.getRetryAfterSeconds());
+        assertEquals(1, meterRegistry.get("vanguard.auth.password.rejected").counter().count());
+
+        release.countDown();
+        assertEquals("a", running.get(1, TimeUnit.SECONDS));
+        assertEquals("b", queued.get(1, TimeUnit.SECONDS));
+    }
+
+    private void waitForQueue(int depth) throws InterruptedException {
+        for (int i = 0; i < 100 && meterRegistry.get("vanguard.auth.password.queue").gauge().value() < depth; i++) {
+            Thread.sleep(10);
+        }
+    }
+
+    private static PasswordEncoder blockingEncoder(CountDownLatch started, CountDownLatch release) {
+        return new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return rawPassword.toString();
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return rawPassword.toString().equals(encodedPassword);
+            }
+        };
+    }
+}
@@ -0,0 +1,80 @@
+package com.auvexis.vanguard.modules.auth.infrastructure.security;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+@ExtendWith(MockitoExtension.class)
+class DistributedRateLimiterTest {
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private RateLimit rateLimit;
+
+    private DistributedRateLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        limiter = new DistributedRateLimiter(redisTemplate, 100, 4, 60000);
+        when(rateLimit.capacity()).thenReturn(10L);
+        when(rateLimit.refillTokens()).thenReturn(10L);
+        when(rateLimit.refillDurationInMinutes()).thenReturn(1);
+    }
+
+    @Test
+    void tryConsume_WithoutLease_ShouldHitRedisEveryTime() {
+        when(rateLimit.leaseTokens()).thenReturn(1L);
+        stubGranted("1", 1L);
+
+        assertTrue(limiter.tryConsume(1L, "login:10.0.0.1", rateLimit));
+        assertTrue(limiter.tryConsume(1L, "login:10.0.0.1", rateLimit));
+
+        verify(redisTemplate, times(2)).execute(
+                any(RedisScript.class), eq(List.of("auth:ratelimit:login:10.0.0.1")),
+                any(), any(), any(), eq("1"));
+    }
+
+    @Test
+    void tryConsume_WithLease_ShouldServeBatchLocally() {
+        when(rateLimit.leaseTokens()).thenReturn(3L);
+        stubGranted("3", 3L);
+
+        assertTrue(limiter.tryConsume(1L, "login:10.0.0.1", rateLimit));
+        assertTrue(limiter.tryConsume(1L, "login:10.0.0.1", rateLimit));
+        assertTrue(limiter.tryConsume(1L, "login:10.0.0.1", rateLimit));
+
+        verify(redisTemplate, times(1)).execute(
+                any(RedisScript.class), anyList(), any(), any(), any(), eq("3"));
+    }
+
+    @Test
+    void tryConsume_WhenBucketEmpty_ShouldReject() {
+        when(rateLimit.leaseTokens()).thenReturn(3L);
+        stubGranted("3", 0L);
+
+        assertFalse(limiter.tryConsume(1L, "login:10.0.0.1", rateLimit));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void stubGranted(String requested, Long granted) {
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(), any(), any(), eq(requested)))
+                .thenReturn(granted);
+    }
+}
@@ -5,14 +5,16 @@ import static org.mockito.Mockito.*;
 import java.io.IOException;
 import java.io.PrintWriter;
 import java.io.StringWriter;
+import java.util.Map;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.method.HandlerMethod;
-import org.springframework.web.servlet.HandlerExecutionChain;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
 import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
 
 import jakarta.servlet.FilterChain;
@@ -38,45 +40,47 @@ class RateLimitFilterTest {
     @Mock
     private FilterChain filterChain;
 
-    @Mock
-    private HandlerExecutionChain handlerExecutionChain;
-
-    @Mock
-    private HandlerMethod handlerMethod;
-
     private RateLimitFilter filter;
 
     @BeforeEach
-    void setUp() {
+    void setUp() throws NoSuchMethodException {
+        TestController controller = new TestController();
+        when(handlerMapping.getHandlerMethods()).thenReturn(Map.of(
+                RequestMappingInfo.paths("/limited").methods(RequestMethod.POST).build(),
+                new HandlerMethod(controller, TestController.class.getMethod("limited")),
+                RequestMappingInfo.paths("/items/{id}").methods(RequestMethod.POST).build(),
+                new HandlerMethod(controller, TestController.class.getMethod("item")),
+                RequestMappingInfo.paths("/open").methods(RequestMethod.GET).build(),
+                new HandlerMethod(controller, TestController.class.getMethod("open"))));
+
         filter = new RateLimitFilter(rateLimitService, handlerMapping);
     }
 
     @Test
-    void doFilter_WhenNoRateLimitAnnotation_ShouldContinueChain() throws IOException, ServletException, Exception {
-        when(handlerMapping.getHandler(request)).thenReturn(handlerExecutionChain);
-        when(handlerExecutionChain.getHandler()).thenReturn(handlerMethod);
-        when(handlerMethod.getMethodAnnotation(RateLimit.class)).thenReturn(null);
+    void doFilter_WhenNoRateLimitAnnotation_ShouldContinueChain() throws IOException, ServletException {
+        mockRequest("GET", "/open");
 
         filter.doFilter(request, response, filterChain);
 
         verify(filterChain).doFilter(request, response);
-        verify(rateLimitService, never()).tryConsume(anyString(), anyLong(), anyLong(), anyInt());
+        verify(rateLimitService, never()).tryConsume(anyString(), anyString(), any(RateLimit.class));
     }
 
     @Test
-    void doFilter_WhenRateLimitAllowed_ShouldContinueChain() throws IOException, ServletException, Exception {
-        RateLimit rateLimit = mock(RateLimit.class);
-        when(rateLimit.capacity()).thenReturn(5L);
-        when(rateLimit.refillTokens()).thenReturn(5L);
-        when(rateLimit.refillDurationInMinutes()).thenReturn(1);
-
-        when(handlerMapping.getHandler(request)).thenReturn(handlerExecutionChain);
-        when(handlerExecutionChain.getHandler()).thenReturn(handlerMethod);
-        when(handlerMethod.getMethodAnnotation(RateLimit.class)).thenReturn(rateLimit);
-        when(request.getRemoteAddr()).thenReturn("127.0.0.1");
-        when(handlerMethod.getMethod()).thenReturn(this.getClass().getDeclaredMethods()[0]); // Just any method
+    void doFilter_WhenMethodDoesNotMatch_ShouldContinueChain() throws IOException, ServletException {
+        mockRequest("GET", "/limited");
 
-        when(rateLimitService.tryConsume(anyString(), anyLong(), anyLong(), anyInt())).thenReturn(true);
+        filter.doFilter(request, response, filterChain);
+
+        verify(filterChain).doFilter(request, response);
+        verify(rateLimitService, never()).tryConsume(anyString(), anyString(), any(RateLimit.class));
+    }
+
+    @Test
+    void doFilter_WhenRateLimitAllowed_ShouldContinueChain() throws IOException, ServletException {
+        mockRequest("POST", "/limited");
+        when(request.getRemoteAddr()).thenReturn("127.0.0.1");
+        when(rateLimitService.tryConsume(eq("127.0.0.1"), eq("limited"), any(RateLimit.class))).thenReturn(true);
 
         filter.doFilter(request, response, filterChain);
 
@@ -84,19 +88,44 @@ class RateLimitFilterTest {
     }
 
     @Test
-    void doFilter_WhenRateLimitExceeded_ShouldReturn429() throws IOException, ServletException, Exception {
-        RateLimit rateLimit = mock(RateLimit.class);
-        when(rateLimit.capacity()).thenReturn(5L);
-        when(rateLimit.refillTokens()).thenReturn(5L);
-        when(rateLimit.refillDurationInMinutes()).thenReturn(1);
-
-        when(handlerMapping.getHandler(request)).thenReturn(handlerExecutionChain);
-        when(handlerExecutionChain.getHandler()).thenReturn(handlerMethod);
-        when(handlerMethod.getMethodAnnotation(RateLimit.class)).thenReturn(rateLimit);
+    void doFilter_WhenPathIsPercentEncoded_ShouldApplyLimit() throws IOException, ServletException {
+        mockRequest("POST", "/%6Cimited");
+        when(request.getRemoteAddr()).thenReturn("127.0.0.1");
+        when(rateLimitService.tryConsume(eq("127.0.0.1"), eq("limited"), any(RateLimit.class))).thenReturn(true);
+
+        filter.doFilter(request, response, filterChain);
+
+        verify(rateLimitService).tryConsume(eq("127.0.0.1"), eq("limited"), any(RateLimit.class));
+    }
+
+    @Test
+    void doFilter_WhenPathHasMatrixParameters_ShouldApplyLimit() throws IOException, ServletException {
+        mockRequest("POST", "/limited;a=b");
         when(request.getRemoteAddr()).thenReturn("127.0.0.1");
-        when(handlerMethod.getMethod()).thenReturn(this.getClass().getDeclaredMethods()[0]);
+        when(rateLimitService.tryConsume(eq("127.0.0.1"), eq("limited"), any(RateLimit.class))).thenReturn(true);
 
-        when(rateLimitService.tryConsume(anyString(), anyLong(), anyLong(), anyInt())).thenReturn(false);
+        filter.doFilter(request, response, filterChain);
+
+        verify(rateLimitService).tryConsume(eq("127.0.0.1"), eq("limited"), any(RateLimit.class));
+    }
+
+    @Test
+    void doFilter_WhenPatternRouteMatches_ShouldApplyLimit() throws IOException, ServletException {
+        mockRequest("POST", "/items/42");
+        when(request.getRemoteAddr()).thenReturn("127.0.0.1");
+        when(rateLimitService.tryConsume(eq("127.0.0.1"), eq("item"), any(RateLimit.class))).thenReturn(true);
+
+        filter.doFilter(request, response, filterChain);
+
+        verify(rateLimitService).tryConsume(eq("127.0.0.1"), eq("item"), any(RateLimit.class));
+        verify(filterChain).doFilter(request, response);
+    }
+
+    @Test
+    void doFilter_WhenRateLimitExceeded_ShouldReturn429() throws IOException, ServletException {
+        mockRequest("POST", "/limited");
+        when(request.getRemoteAddr()).thenReturn("127.0.0.1");
+        when(rateLimitService.tryConsume(anyString(), anyString(), any(RateLimit.class))).thenReturn(false);
 
         StringWriter stringWriter = new StringWriter();
         PrintWriter writer = new PrintWriter(stringWriter);
@@ -107,4 +136,24 @@ class RateLimitFilterTest {
         verify(response).setStatus(429);
         verify(filterChain, never()).doFilter(request, response);
     }
+
+    private void mockRequest(String method, String path) {
+        when(request.getMethod()).thenReturn(method);
+        when(request.getRequestURI()).thenReturn(path);
+        when(request.getContextPath()).thenReturn("");
+    }
+
+    static class TestController {
+
+        @RateLimit(capacity = 1, refillTokens = 1)
+        public void limited() {
+        }
+
+        @RateLimit(capacity = 1, refillTokens = 1)
+        public void item() {
+        }
+
+        public void open() {
+        }
+    }
 }
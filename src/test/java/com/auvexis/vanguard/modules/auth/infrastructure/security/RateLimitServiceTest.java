@@ -0,0 +1,125 @@
+package com.auvexis.vanguard.modules.auth.infrastructure.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.github.bucket4j.Bucket;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Unit tests for RateLimitService and its bucket store.
+ */
+class RateLimitServiceTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private RateLimitService rateLimitService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        rateLimitService = new RateLimitService(meterRegistry, mock(DistributedRateLimiter.class), 100, 4, 10);
+    }
+
+    /**
+     * Test requests are rejected once the bucket capacity is used up.
+     */
+    @Test
+    void testTryConsume_RejectsAfterCapacity() {
+        assertTrue(rateLimitService.tryConsume("10.0.0.1", "login", 2, 2, 1));
+        assertTrue(rateLimitService.tryConsume("10.0.0.1", "login", 2, 2, 1));
+        assertFalse(rateLimitService.tryConsume("10.0.0.1", "login", 2, 2, 1));
+
+        // Other routes and other clients have their own buckets
+        assertTrue(rateLimitService.tryConsume("10.0.0.1", "register", 2, 2, 1));
+        assertTrue(rateLimitService.tryConsume("10.0.0.2", "login", 2, 2, 1));
+    }
+
+    /**
+     * Test IPv4 addresses are packed without collisions.
+     */
+    @Test
+    void testAddressKey_PacksIpv4() {
+        assertEquals(0x0a000001L, RateLimitService.addressKey("10.0.0.1"));
+        assertEquals(0xffffffffL, RateLimitService.addressKey("255.255.255.255"));
+        assertNotEquals(RateLimitService.addressKey("10.0.0.1"), RateLimitService.addressKey("10.0.0.2"));
+        assertEquals(0x0a000001L, RateLimitService.addressKey("::ffff:10.0.0.1"));
+    }
+
+    /**
+     * Test IPv6 and unparseable addresses never share a key with an IPv4
+     * address, and IPv6 clients are keyed by their /64.
+     */
+    @Test
+    void testAddressKey_KeysIpv6ByPrefix() {
+        long ipv6 = RateLimitService.addressKey("2001:db8:0:1::1");
+
+        assertEquals(ipv6, RateLimitService.addressKey("2001:db8:0:1:ffff:ffff:ffff:ffff"));
+        assertEquals(ipv6, RateLimitService.addressKey("[2001:db8:0:1::1]"));
+        assertNotEquals(ipv6, RateLimitService.addressKey("2001:db8:0:2::1"));
+        assertTrue(ipv6 > 0xffffffffL && ipv6 < 1L << 48);
+        assertTrue(RateLimitService.addressKey("1.2.3.256") > 0xffffffffL);
+
+        // "::1".hashCode() used to be the key of 0.0.224.241
+        assertNotEquals(RateLimitService.addressKey("0.0.224.241"), RateLimitService.addressKey("::1"));
+        assertEquals("2001:db8:0:1::/64", RateLimitService.clientId("2001:db8:0:1::1"));
+        assertEquals("10.0.0.1", RateLimitService.clientId("::ffff:10.0.0.1"));
+    }
+
+    /**
+     * Test an IPv6 client does not drain the bucket of the IPv4 address its
+     * string hash used to collide with.
+     */
+    @Test
+    void testTryConsume_Ipv6DoesNotShareIpv4Bucket() {
+        String ipv4 = "0.0.224.241";
+        assertEquals(0x0000e0f1, "::1".hashCode());
+
+        assertTrue(rateLimitService.tryConsume("::1", "login", 1, 1, 1));
+        assertFalse(rateLimitService.tryConsume("::1", "login", 1, 1, 1));
+        assertTrue(rateLimitService.tryConsume(ipv4, "login", 1, 1, 1));
+    }
+
+    /**
+     * Test the store never grows past its size cap.
+     */
+    @Test
+    void testStore_EvictsOverSizeCap() {
+        for (int i = 0; i < 1000; i++) {
+            rateLimitService.tryConsume("10.0." + (i / 256) + "." + (i % 256), "login", 5, 5, 1);
+        }
+
+        assertTrue(meterRegistry.get("vanguard.ratelimit.buckets").gauge().value() <= 100);
+        assertTrue(meterRegistry.get("vanguard.ratelimit.evictions").tag("reason", "size")
+                .functionCounter().count() >= 900);
+    }
+
+    /**
+     * Test idle buckets are dropped by the sweep.
+     */
+    @Test
+    void testStore_EvictsIdleEntries() throws InterruptedException {
+        RateLimitBucketStore<Bucket> store = new RateLimitBucketStore<>(100, 4, 1);
+        store.getOrCreate(RateLimitBucketStore.key(1, 1), this::bucket);
+        store.getOrCreate(RateLimitBucketStore.key(2, 1), this::bucket);
+
+        Thread.sleep(1);
+        store.evictIdle();
+
+        assertEquals(0, store.size());
+        assertEquals(2, store.idleEvictions());
+    }
+
+    private Bucket bucket() {
+        return Bucket.builder()
+                .addLimit(limit -> limit.capacity(1).refillGreedy(1, Duration.ofMinutes(1)))
+                .build();
+    }
+}
@@ -0,0 +1,72 @@
+package com.auvexis.vanguard.modules.auth.infrastructure.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for VerificationTokenService.
+ */
+class VerificationTokenServiceTest {
+
+    private final VerificationTokenService service = new VerificationTokenService("test-secret");
+
+    /**
+     * Test that the token derived from a seed is stable and accepted.
+     */
+    @Test
+    void testTokenFor_derivesSameTokenAgain() {
+        UUID userId = UUID.randomUUID();
+        String seed = service.newSeed();
+
+        String token = service.tokenFor(userId, seed);
+
+        assertEquals(token, service.tokenFor(userId, seed));
+        assertNotEquals(seed, token);
+        assertTrue(service.matches(userId, seed, token));
+    }
+
+    /**
+     * Test that a token is bound to its user, seed and secret.
+     */
+    @Test
+    void testMatches_rejectsOtherUserSeedOrSecret() {
+        UUID userId = UUID.randomUUID();
+        String seed = service.newSeed();
+        String token = service.tokenFor(userId, seed);
+
+        assertFalse(service.matches(UUID.randomUUID(), seed, token));
+        assertFalse(service.matches(userId, service.newSeed(), token));
+        assertFalse(new VerificationTokenService("other-secret").matches(userId, seed, token));
+        assertFalse(service.matches(userId, seed, null));
+    }
+
+    /**
+     * Test that seeds are random and URL-safe.
+     */
+    @Test
+    void testNewSeed_isRandomAndUrlSafe() {
+        String seed = service.newSeed();
+
+        assertNotEquals(seed, service.newSeed());
+        assertTrue(seed.matches("[A-Za-z0-9_-]{22}"));
+    }
+
+    /**
+     * Test that verifications stored before HMAC tokens still work.
+     */
+    @Test
+    void testMatches_acceptsLegacyTokens() {
+        UUID userId = UUID.randomUUID();
+        String legacy = "$2a$10$abcdefghijklmnopqrstuuABCDEFGHIJKLMNOPQRSTUVWXYZ01234";
+
+        assertEquals(legacy, service.tokenFor(userId, legacy));
+        assertTrue(service.matches(userId, legacy, legacy));
+        assertFalse(service.matches(userId, legacy, "other"));
+    }
+}
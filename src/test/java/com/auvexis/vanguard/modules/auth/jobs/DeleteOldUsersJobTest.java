@@ -0,0 +1,56 @@
+package com.auvexis.vanguard.modules.auth.jobs;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.auvexis.vanguard.modules.auth.infrastructure.cache.RegisteredEmailIndex;
+import com.auvexis.vanguard.modules.auth.infrastructure.repository.UserRepository;
+
+@ExtendWith(MockitoExtension.class)
+class DeleteOldUsersJobTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private RegisteredEmailIndex emailIndex;
+
+    @Test
+    @DisplayName("Should delete in chunks until a chunk comes back short")
+    void shouldDeleteInChunksUntilDrained() {
+        DeleteOldUsersJob job = new DeleteOldUsersJob(userRepository, emailIndex, 86400000, 100, 60000);
+        when(userRepository.deleteUnverifiedUsersCreatedBefore(any(), eq(100))).thenReturn(emails(100), emails(100), emails(42));
+
+        job.execute();
+
+        verify(userRepository, times(3)).deleteUnverifiedUsersCreatedBefore(any(), eq(100));
+        verify(emailIndex, times(3)).removeAll(any());
+    }
+
+    @Test
+    @DisplayName("Should stop once the time budget is spent")
+    void shouldStopWhenTimeBudgetIsSpent() {
+        DeleteOldUsersJob job = new DeleteOldUsersJob(userRepository, emailIndex, 86400000, 100, 0);
+        when(userRepository.deleteUnverifiedUsersCreatedBefore(any(), eq(100))).thenReturn(emails(100));
+
+        job.execute();
+
+        verify(userRepository, times(1)).deleteUnverifiedUsersCreatedBefore(any(), eq(100));
+    }
+
+    private static List<String> emails(int count) {
+        return IntStream.range(0, count).mapToObj(i -> "user" + i + "@example.com").toList();
+    }
+}
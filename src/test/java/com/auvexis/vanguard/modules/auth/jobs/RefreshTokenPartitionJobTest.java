@@ -0,0 +1,97 @@
+package com.auvexis.vanguard.modules.auth.jobs;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.ResultSet;
+import java.time.Duration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class RefreshTokenPartitionJobTest {
+
+    private static final String MAINTAIN_SQL =
+            "SELECT dropped, failed, defaulted FROM auth.maintain_refresh_token_partitions(?)";
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private RefreshTokenPartitionJob job;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        job = new RefreshTokenPartitionJob(jdbcTemplate, meterRegistry, Duration.ofDays(7).toMillis(), 7);
+    }
+
+    @Test
+    @DisplayName("Should keep partitions for the whole token lifetime plus a margin")
+    void shouldCoverTokenLifetime() {
+        assertEquals(14, RefreshTokenPartitionJob.daysAhead(Duration.ofDays(7), 7));
+        assertEquals(9, RefreshTokenPartitionJob.daysAhead(Duration.ofHours(25), 7));
+    }
+
+    @Test
+    @DisplayName("Should run the partition maintenance function")
+    void shouldRunMaintenance() throws Exception {
+        returnResult(1, 0, 0);
+
+        job.execute();
+
+        verify(jdbcTemplate).queryForObject(eq(MAINTAIN_SQL), any(RowMapper.class), eq(14));
+        assertEquals(0, failures("partition"));
+    }
+
+    @Test
+    @DisplayName("Should count partitions the function could not maintain")
+    void shouldCountPartitionFailures() throws Exception {
+        returnResult(0, 2, 5);
+
+        job.execute();
+
+        assertEquals(2, failures("partition"));
+        assertEquals(5, meterRegistry.get("vanguard.auth.refresh-token.partitions.defaulted").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Should count and not propagate database failures")
+    void shouldSwallowDatabaseFailures() {
+        when(jdbcTemplate.queryForObject(anyString(), any(RowMapper.class), eq(14)))
+                .thenThrow(new DataAccessResourceFailureException("down"));
+
+        job.execute();
+
+        assertEquals(1, failures("run"));
+    }
+
+    private void returnResult(int dropped, int failed, long defaulted) throws Exception {
+        ResultSet row = mock(ResultSet.class);
+        when(row.getInt(1)).thenReturn(dropped);
+        when(row.getInt(2)).thenReturn(failed);
+        when(row.getLong(3)).thenReturn(defaulted);
+
+        when(jdbcTemplate.queryForObject(eq(MAINTAIN_SQL), any(RowMapper.class), eq(14)))
+                .thenAnswer(invocation -> invocation.<RowMapper<?>>getArgument(1).mapRow(row, 0));
+    }
+
+    private double failures(String scope) {
+        return meterRegistry.get("vanguard.auth.refresh-token.partitions.failures").tag("scope", scope).counter().count();
+    }
+}
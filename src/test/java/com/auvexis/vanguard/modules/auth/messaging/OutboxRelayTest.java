@@ -0,0 +1,87 @@
+package com.auvexis.vanguard.modules.auth.messaging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.auvexis.vanguard.modules.auth.domain.OutboxMessage;
+import com.auvexis.vanguard.modules.auth.infrastructure.repository.OutboxRepository;
+import com.auvexis.vanguard.shared.infrastructure.rabbitmq.BatchingRabbitPublisher;
+import com.auvexis.vanguard.shared.infrastructure.rabbitmq.MessagingConfig;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+
+    @Mock
+    private OutboxRepository outboxRepository;
+
+    @Mock
+    private BatchingRabbitPublisher publisher;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private OutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        relay = new OutboxRelay(outboxRepository, publisher, transactionTemplate, 10, 200);
+    }
+
+    @Test
+    void relayBatch_ShouldDeleteConfirmedMessages() {
+        when(outboxRepository.lockNextBatch(10)).thenReturn(List.of(message(1L), message(2L)));
+        when(publisher.publish(eq(MessagingConfig.APP_EXCHANGE), anyString(), any(Message.class), eq("1")))
+                .thenReturn(CompletableFuture.completedFuture(null));
+        when(publisher.publish(eq(MessagingConfig.APP_EXCHANGE), anyString(), any(Message.class), eq("2")))
+                .thenReturn(CompletableFuture.failedFuture(new AmqpException("nack")));
+
+        int relayed = relay.relayBatch();
+
+        assertEquals(1, relayed);
+        verify(outboxRepository).deleteAllByIdInBatch(List.of(1L));
+    }
+
+    @Test
+    void relayBatch_ShouldKeepMessages_WhenBrokerDoesNotConfirm() {
+        when(outboxRepository.lockNextBatch(10)).thenReturn(List.of(message(1L)));
+        when(publisher.publish(anyString(), anyString(), any(Message.class), anyString()))
+                .thenReturn(new CompletableFuture<>());
+
+        int relayed = relay.relayBatch();
+
+        assertEquals(0, relayed);
+        verify(outboxRepository).deleteAllByIdInBatch(List.of());
+    }
+
+    @Test
+    void relayBatch_ShouldDoNothing_WhenOutboxIsEmpty() {
+        when(outboxRepository.lockNextBatch(anyInt())).thenReturn(List.of());
+
+        assertEquals(0, relay.relayBatch());
+        verify(publisher, never()).publish(anyString(), anyString(), any(Message.class), anyString());
+    }
+
+    private static OutboxMessage message(long id) {
+        OutboxMessage message = new OutboxMessage("auth.user.email.verification", "Event", "{}");
+        message.setId(id);
+        return message;
+    }
+}
@@ -0,0 +1,50 @@
+package com.auvexis.vanguard.modules.auth.messaging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.verify;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.auvexis.vanguard.modules.auth.domain.OutboxMessage;
+import com.auvexis.vanguard.modules.auth.infrastructure.repository.OutboxRepository;
+import com.auvexis.vanguard.shared.events.UserEmailVerificationEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@ExtendWith(MockitoExtension.class)
+class UserPublisherTest {
+
+    @Mock
+    private OutboxRepository outboxRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private UserPublisher userPublisher;
+
+    @BeforeEach
+    void setUp() {
+        userPublisher = new UserPublisher(outboxRepository, objectMapper);
+    }
+
+    @Test
+    void publishUserEmailVerification_ShouldWriteToOutbox() throws Exception {
+        UserEmailVerificationEvent event = new UserEmailVerificationEvent(
+                UUID.randomUUID(), "john@example.com", "John", "token");
+
+        userPublisher.publishUserEmailVerification(event);
+
+        ArgumentCaptor<OutboxMessage> captor = ArgumentCaptor.forClass(OutboxMessage.class);
+        verify(outboxRepository).save(captor.capture());
+
+        OutboxMessage message = captor.getValue();
+        assertEquals(UserPublisher.USER_EMAIL_VERIFICATION, message.getRoutingKey());
+        assertEquals(UserEmailVerificationEvent.class.getName(), message.getPayloadType());
+        assertEquals(event, objectMapper.readValue(message.getPayload(), UserEmailVerificationEvent.class));
+    }
+}
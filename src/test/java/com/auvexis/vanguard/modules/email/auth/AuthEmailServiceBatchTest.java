@@ -0,0 +1,222 @@
+package com.auvexis.vanguard.modules.email.auth;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.auvexis.vanguard.modules.email.template.EmailTemplateEngine;
+import com.auvexis.vanguard.shared.events.UserEmailVerificationEvent;
+import com.auvexis.vanguard.shared.infrastructure.rabbitmq.TieredRetryRecoverer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.resend.Resend;
+import com.resend.core.exception.ResendException;
+import com.resend.services.batch.Batch;
+import com.resend.services.batch.model.BatchError;
+import com.resend.services.batch.model.CreateBatchEmailsResponse;
+import com.resend.services.emails.model.CreateEmailOptions;
+
+@ExtendWith(MockitoExtension.class)
+class AuthEmailServiceBatchTest {
+
+    @Mock
+    private Resend resend;
+
+    @Mock
+    private Batch batch;
+
+    @Mock
+    private TieredRetryRecoverer retryRecoverer;
+
+    @Mock
+    private EmailDedupeWindow dedupeWindow;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final EmailTemplateEngine templateEngine = spy(new EmailTemplateEngine("en"));
+
+    private AuthEmailService authEmailService;
+
+    @BeforeEach
+    void setUp() {
+        authEmailService = new AuthEmailService(
+                resend, objectMapper, retryRecoverer, templateEngine, dedupeWindow);
+        ReflectionTestUtils.setField(authEmailService, "clientUrl", "http://localhost:3000");
+    }
+
+    @Test
+    @DisplayName("Should send a whole batch with one request")
+    @SuppressWarnings("unchecked")
+    void shouldSendBatchWithOneRequest() throws Exception {
+        claimAll();
+        when(resend.batch()).thenReturn(batch);
+        when(batch.send(any())).thenReturn(new CreateBatchEmailsResponse(List.of(), List.of()));
+
+        authEmailService.onUserEmailVerificationBatch(List.of(message("John Doe"), message("Jane Roe")));
+
+        ArgumentCaptor<List<CreateEmailOptions>> captor = ArgumentCaptor.forClass(List.class);
+        verify(batch).send(captor.capture());
+        assertEquals(2, captor.getValue().size());
+        assertEquals("Hey John, Verify your email!", captor.getValue().get(0).getSubject());
+        assertEquals("Hey Jane, Verify your email!", captor.getValue().get(1).getSubject());
+        verify(retryRecoverer, never()).recover(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should retry only the emails the provider rejected")
+    void shouldRetryRejectedEmails() throws Exception {
+        claimAll();
+        Message first = message("John Doe");
+        Message second = message("Jane Roe");
+        when(resend.batch()).thenReturn(batch);
+        when(batch.send(any())).thenReturn(new CreateBatchEmailsResponse(
+                List.of(), List.of(new BatchError(1, "invalid recipient"))));
+
+        authEmailService.onUserEmailVerificationResendBatch(List.of(first, second));
+
+        verify(retryRecoverer).recover(eq(second), any());
+        verify(retryRecoverer, never()).recover(eq(first), any());
+        verify(dedupeWindow).release(eq("verification-resend"), eq(List.of(idOf(second))));
+    }
+
+    @Test
+    @DisplayName("Should retry every email when the batch request fails")
+    void shouldRetryAllWhenRequestFails() throws Exception {
+        claimAll();
+        Message first = message("John Doe");
+        Message second = message("Jane Roe");
+        when(resend.batch()).thenReturn(batch);
+        when(batch.send(any())).thenThrow(new ResendException("API Error"));
+
+        authEmailService.onUserEmailVerificationBatch(List.of(first, second));
+
+        verify(retryRecoverer).recover(eq(first), any(ResendException.class));
+        verify(retryRecoverer).recover(eq(second), any(ResendException.class));
+        verify(dedupeWindow).release(eq("verification"), eq(List.of(idOf(first), idOf(second))));
+    }
+
+    @Test
+    @DisplayName("Should release the claim and retry when the batch request fails unexpectedly")
+    void shouldReleaseClaimsWhenRequestFailsUnexpectedly() throws Exception {
+        claimAll();
+        Message first = message("John Doe");
+        when(resend.batch()).thenReturn(batch);
+        when(batch.send(any())).thenThrow(new IllegalStateException("Connection reset"));
+
+        authEmailService.onUserEmailVerificationBatch(List.of(first));
+
+        verify(retryRecoverer).recover(eq(first), any(IllegalStateException.class));
+        verify(dedupeWindow).release(eq("verification"), eq(List.of(idOf(first))));
+    }
+
+    @Test
+    @DisplayName("Should release the claim and retry an email that fails to render")
+    void shouldReleaseClaimWhenRenderingFails() throws Exception {
+        claimAll();
+        Message first = message("John Doe");
+        doThrow(new IllegalArgumentException("Unknown template variable"))
+                .when(templateEngine).render(any(), any(), any());
+
+        authEmailService.onUserEmailVerificationBatch(List.of(first));
+
+        verify(dedupeWindow).release(eq("verification"), eq(List.of(idOf(first))));
+        verify(retryRecoverer).recover(eq(first), any(IllegalArgumentException.class));
+        verify(resend, never()).batch();
+    }
+
+    @Test
+    @DisplayName("Should release every claim still held when the recoverer fails")
+    void shouldReleaseHeldClaimsWhenRecovererFails() throws Exception {
+        claimAll();
+        Message first = message("John Doe");
+        Message second = message("Jane Roe");
+        doThrow(new IllegalArgumentException("Unknown template variable"))
+                .when(templateEngine).render(any(), any(), any());
+        doThrow(new AmqpException("Broker unavailable")).when(retryRecoverer).recover(eq(first), any());
+
+        assertThrows(AmqpException.class,
+                () -> authEmailService.onUserEmailVerificationBatch(List.of(first, second)));
+
+        verify(dedupeWindow).release(eq("verification"), eq(List.of(idOf(first))));
+        verify(dedupeWindow).release(eq("verification"), eq(List.of(idOf(second))));
+    }
+
+    @Test
+    @DisplayName("Should drop emails already sent within the dedupe window")
+    @SuppressWarnings("unchecked")
+    void shouldDropDuplicateEmails() throws Exception {
+        when(dedupeWindow.claim(eq("verification-resend"), any())).thenReturn(new boolean[] { true, false });
+        when(resend.batch()).thenReturn(batch);
+        when(batch.send(any())).thenReturn(new CreateBatchEmailsResponse(List.of(), List.of()));
+
+        authEmailService.onUserEmailVerificationResendBatch(List.of(message("John Doe"), message("John Doe")));
+
+        ArgumentCaptor<List<CreateEmailOptions>> captor = ArgumentCaptor.forClass(List.class);
+        verify(batch).send(captor.capture());
+        assertEquals(1, captor.getValue().size());
+        verify(retryRecoverer, never()).recover(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should not call the provider when every email is a duplicate")
+    void shouldSkipProviderWhenAllDuplicates() throws Exception {
+        when(dedupeWindow.claim(eq("verification"), any())).thenReturn(new boolean[] { false });
+
+        authEmailService.onUserEmailVerificationBatch(List.of(message("John Doe")));
+
+        verify(resend, never()).batch();
+        verify(retryRecoverer, never()).recover(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should park unreadable messages without calling the provider")
+    void shouldParkUnreadableMessages() {
+        Message unreadable = new Message("not json".getBytes(), new MessageProperties());
+
+        authEmailService.onUserEmailVerificationBatch(List.of(unreadable));
+
+        verify(retryRecoverer).recover(eq(unreadable), any(MessageConversionException.class));
+        verify(resend, never()).batch();
+    }
+
+    private void claimAll() {
+        when(dedupeWindow.claim(any(), any()))
+                .thenAnswer(invocation -> {
+                    boolean[] claimed = new boolean[invocation.<List<?>>getArgument(1).size()];
+                    Arrays.fill(claimed, true);
+                    return claimed;
+                });
+    }
+
+    private UUID idOf(Message message) throws Exception {
+        return objectMapper.readValue(message.getBody(), UserEmailVerificationEvent.class).id();
+    }
+
+    private Message message(String name) throws Exception {
+        UserEmailVerificationEvent event = new UserEmailVerificationEvent(
+                UUID.randomUUID(), "test@example.com", name, "verification-token");
+        return new Message(objectMapper.writeValueAsBytes(event), new MessageProperties());
+    }
+}
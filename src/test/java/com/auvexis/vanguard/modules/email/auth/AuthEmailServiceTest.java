@@ -1,13 +1,13 @@
 package com.auvexis.vanguard.modules.email.auth;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.Mockito.doThrow;
-import static org.mockito.Mockito.mock;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.List;
 import java.util.UUID;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -15,15 +15,20 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import com.auvexis.vanguard.modules.email.template.EmailTemplateEngine;
 import com.auvexis.vanguard.shared.events.UserEmailVerificationEvent;
+import com.auvexis.vanguard.shared.infrastructure.rabbitmq.TieredRetryRecoverer;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.resend.Resend;
 import com.resend.core.exception.ResendException;
-import com.resend.services.emails.Emails;
+import com.resend.services.batch.Batch;
+import com.resend.services.batch.model.CreateBatchEmailsResponse;
 import com.resend.services.emails.model.CreateEmailOptions;
 
 @ExtendWith(MockitoExtension.class)
@@ -33,78 +38,94 @@ class AuthEmailServiceTest {
     private Resend resend;
 
     @Mock
-    private Emails emails;
+    private Batch batch;
 
-    @InjectMocks
-    private AuthEmailService authEmailService;
+    @Mock
+    private TieredRetryRecoverer retryRecoverer;
+
+    @Mock
+    private EmailDedupeWindow dedupeWindow;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
 
     private final String clientUrl = "http://localhost:3000";
 
+    private AuthEmailService authEmailService;
+
     @BeforeEach
     void setUp() {
+        authEmailService = new AuthEmailService(
+                resend, objectMapper, retryRecoverer, new EmailTemplateEngine("en"), dedupeWindow);
         ReflectionTestUtils.setField(authEmailService, "clientUrl", clientUrl);
-        when(resend.emails()).thenReturn(emails);
+        when(dedupeWindow.claim(any(), any())).thenReturn(new boolean[] { true });
+        when(resend.batch()).thenReturn(batch);
     }
 
     @Test
     @DisplayName("Should send verification email successfully")
-    void shouldSendVerificationEmailSuccessfully() throws ResendException {
+    void shouldSendVerificationEmailSuccessfully() throws Exception {
         // Arrange
-        UserEmailVerificationEvent event = new UserEmailVerificationEvent(
-                UUID.randomUUID(),
-                "test@example.com",
-                "John Doe",
-                "verification-token");
+        UserEmailVerificationEvent event = event();
+        when(batch.send(any())).thenReturn(new CreateBatchEmailsResponse(List.of(), List.of()));
 
         // Act
-        authEmailService.onUserEmailVerification(event);
+        authEmailService.onUserEmailVerificationBatch(List.of(message(event)));
 
         // Assert
-        ArgumentCaptor<CreateEmailOptions> captor = ArgumentCaptor.forClass(CreateEmailOptions.class);
-        verify(emails).send(captor.capture());
-
-        CreateEmailOptions options = captor.getValue();
+        CreateEmailOptions options = sentEmail();
         assertEquals("test@example.com", options.getTo().get(0));
         assertEquals("Hey John, Verify your email!", options.getSubject());
         assertEquals("vanguard@auvexis.com", options.getFrom());
+        assertTrue(options.getText().contains(clientUrl + "/auth/verify-email?user_id=" + event.id()));
+        assertTrue(options.getHtml().contains("&amp;email_token=verification-token"));
     }
 
     @Test
-    @DisplayName("Should throw exception when email sending fails")
-    void shouldThrowExceptionWhenEmailSendingFails() throws ResendException {
+    @DisplayName("Should route the message to the retry tiers when email sending fails")
+    void shouldRetryWhenEmailSendingFails() throws Exception {
         // Arrange
-        UserEmailVerificationEvent event = new UserEmailVerificationEvent(
-                UUID.randomUUID(),
-                "test@example.com",
-                "John Doe",
-                "verification-token");
-        doThrow(new ResendException("API Error")).when(emails).send(any());
+        Message message = message(event());
+        when(batch.send(any())).thenThrow(new ResendException("API Error"));
+
+        // Act
+        authEmailService.onUserEmailVerificationBatch(List.of(message));
 
-        // Act & Assert
-        RuntimeException exception = assertThrows(RuntimeException.class,
-                () -> authEmailService.onUserEmailVerification(event));
-        assertEquals("Failed to send verification email", exception.getMessage());
+        // Assert
+        verify(retryRecoverer).recover(eq(message), any(ResendException.class));
     }
 
     @Test
     @DisplayName("Should send resend verification email successfully")
-    void shouldSendResendVerificationEmailSuccessfully() throws ResendException {
+    void shouldSendResendVerificationEmailSuccessfully() throws Exception {
         // Arrange
-        UserEmailVerificationEvent event = new UserEmailVerificationEvent(
-                UUID.randomUUID(),
-                "test@example.com",
-                "John Doe",
-                "verification-token");
+        when(batch.send(any())).thenReturn(new CreateBatchEmailsResponse(List.of(), List.of()));
 
         // Act
-        authEmailService.onUserEmailVerificationResend(event);
+        authEmailService.onUserEmailVerificationResendBatch(List.of(message(event())));
 
         // Assert
-        ArgumentCaptor<CreateEmailOptions> captor = ArgumentCaptor.forClass(CreateEmailOptions.class);
-        verify(emails).send(captor.capture());
-
-        CreateEmailOptions options = captor.getValue();
+        CreateEmailOptions options = sentEmail();
         assertEquals("test@example.com", options.getTo().get(0));
         assertEquals("Hey John, Resend verification email!", options.getSubject());
     }
+
+    @SuppressWarnings("unchecked")
+    private CreateEmailOptions sentEmail() throws ResendException {
+        ArgumentCaptor<List<CreateEmailOptions>> captor = ArgumentCaptor.forClass(List.class);
+        verify(batch).send(captor.capture());
+        assertEquals(1, captor.getValue().size());
+        return captor.getValue().get(0);
+    }
+
+    private static UserEmailVerificationEvent event() {
+        return new UserEmailVerificationEvent(
+                UUID.randomUUID(),
+                "test@example.com",
+                "John Doe",
+                "verification-token");
+    }
+
+    private Message message(UserEmailVerificationEvent event) throws Exception {
+        return new Message(objectMapper.writeValueAsBytes(event), new MessageProperties());
+    }
 }
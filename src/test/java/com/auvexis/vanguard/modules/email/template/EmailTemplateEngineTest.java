@@ -0,0 +1,81 @@
+package com.auvexis.vanguard.modules.email.template;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Locale;
+import java.util.Map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class EmailTemplateEngineTest {
+
+    private final EmailTemplateEngine engine = new EmailTemplateEngine("en");
+
+    private final TemplateModel model = Map.of(
+            "firstName", "John",
+            "verificationUrl", "http://localhost:3000/auth/verify-email?user_id=1&email_token=abc")::get;
+
+    @Test
+    @DisplayName("Should render subject, HTML and text parts")
+    void shouldRenderAllParts() {
+        RenderedEmail email = engine.render("verification", Locale.ENGLISH, model);
+
+        assertEquals("Hey John, Verify your email!", email.subject());
+        assertTrue(email.text().startsWith("Hello John,"));
+        assertTrue(email.text().contains("user_id=1&email_token=abc"));
+        assertTrue(email.html().contains("href=\"http://localhost:3000/auth/verify-email?user_id=1&amp;email_token=abc\""));
+    }
+
+    @Test
+    @DisplayName("Should resolve a country-specific template directory")
+    void shouldResolveCountryTemplate() {
+        RenderedEmail email = engine.render("verification", Locale.UK, model);
+
+        assertEquals("Hi John, please verify your email address", email.subject());
+        assertEquals("Hey John, Verify your email!",
+                engine.render("verification", Locale.US, model).subject());
+    }
+
+    @Test
+    @DisplayName("Should fall back to the default locale")
+    void shouldFallBackToDefaultLocale() {
+        RenderedEmail email = engine.render("verification-resend", Locale.forLanguageTag("pt-BR"), model);
+
+        assertEquals("Hey John, Resend verification email!", email.subject());
+    }
+
+    @Test
+    @DisplayName("Should escape variables in HTML only")
+    void shouldEscapeVariablesInHtmlOnly() {
+        TemplateModel unsafe = variable -> variable.equals("firstName") ? "<b>John</b>" : "#";
+
+        RenderedEmail email = engine.render("verification", null, unsafe);
+
+        assertTrue(email.html().contains("Hello &lt;b&gt;John&lt;/b&gt;,"));
+        assertFalse(email.html().contains("<b>"));
+        assertTrue(email.text().startsWith("Hello <b>John</b>,"));
+    }
+
+    @Test
+    @DisplayName("Should reject unknown templates and missing variables")
+    void shouldRejectUnknownTemplatesAndMissingVariables() {
+        assertThrows(IllegalArgumentException.class, () -> engine.render("welcome", null, model));
+        assertThrows(IllegalArgumentException.class, () -> engine.render("verification", null, variable -> null));
+    }
+
+    @Test
+    @DisplayName("Should compile literals and variables into segments")
+    void shouldCompileSegments() {
+        CompiledTemplate template = CompiledTemplate.compile("{{a}}-{{ b }}!", false);
+        StringBuilder out = new StringBuilder();
+
+        template.renderTo(out, Map.of("a", "1", "b", "2")::get);
+
+        assertEquals("1-2!", out.toString());
+        assertThrows(IllegalArgumentException.class, () -> CompiledTemplate.compile("Hello {{name", false));
+    }
+}
@@ -0,0 +1,50 @@
+package com.auvexis.vanguard.shared.infrastructure.jwt;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for BloomFilter.
+ */
+class BloomFilterTest {
+
+    /**
+     * Test that inserted keys are always reported as present.
+     */
+    @Test
+    void testMightContain_NoFalseNegatives() {
+        BloomFilter filter = new BloomFilter(1000, 0.01);
+        String[] keys = new String[1000];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = UUID.randomUUID().toString();
+            filter.put(keys[i]);
+        }
+
+        for (String key : keys) {
+            assertTrue(filter.mightContain(key));
+        }
+    }
+
+    /**
+     * Test that the false positive rate stays close to the configured target.
+     */
+    @Test
+    void testMightContain_FalsePositiveRate() {
+        BloomFilter filter = new BloomFilter(1000, 0.01);
+        for (int i = 0; i < 1000; i++) {
+            filter.put(UUID.randomUUID().toString());
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 10000; i++) {
+            if (filter.mightContain(UUID.randomUUID().toString())) {
+                falsePositives++;
+            }
+        }
+
+        assertTrue(falsePositives < 300, "Too many false positives: " + falsePositives);
+    }
+}
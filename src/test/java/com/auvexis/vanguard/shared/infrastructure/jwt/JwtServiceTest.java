@@ -1,6 +1,7 @@
 package com.auvexis.vanguard.shared.infrastructure.jwt;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -11,7 +12,9 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.time.Duration;
+import java.time.Instant;
 import java.util.Date;
+import java.util.List;
 import java.util.UUID;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -24,11 +27,9 @@ import org.springframework.test.util.ReflectionTestUtils;
 import com.auth0.jwt.JWT;
 import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.interfaces.DecodedJWT;
-import com.auvexis.vanguard.modules.auth.domain.RefreshToken;
 import com.auvexis.vanguard.modules.auth.domain.User;
 import com.auvexis.vanguard.modules.auth.domain.SystemRole;
-import com.auvexis.vanguard.modules.auth.infrastructure.repository.RefreshTokenRepository;
-import com.auvexis.vanguard.shared.infrastructure.redis.RedisService;
+import com.auvexis.vanguard.modules.auth.infrastructure.repository.RefreshTokenStore;
 
 /**
  * Unit tests for JwtService.
@@ -37,10 +38,13 @@ import com.auvexis.vanguard.shared.infrastructure.redis.RedisService;
 class JwtServiceTest {
 
     @Mock
-    private RefreshTokenRepository refreshTokenRepository;
+    private RefreshTokenStore refreshTokenStore;
 
     @Mock
-    private RedisService redisService;
+    private TokenRevocationStore revocationStore;
+
+    @Mock
+    private LocalTokenBlacklist localBlacklist;
 
     private JwtService jwtService;
 
@@ -52,10 +56,11 @@ class JwtServiceTest {
 
     @BeforeEach
     void setUp() {
-        jwtService = new JwtService(refreshTokenRepository, redisService);
-        ReflectionTestUtils.setField(jwtService, "secret", secret);
+        JwtSigningKeys signingKeys = new JwtSigningKeys(secret, new JwtSigningProperties("HS256", null, List.of(), false));
+        jwtService = new JwtService(refreshTokenStore, revocationStore, localBlacklist, signingKeys);
         ReflectionTestUtils.setField(jwtService, "jwtExpirationMs", jwtExpirationMs);
         ReflectionTestUtils.setField(jwtService, "refreshExpirationMs", refreshExpirationMs);
+        jwtService.init();
 
         user = new User();
         user.setId(UUID.randomUUID());
@@ -88,15 +93,10 @@ class JwtServiceTest {
      */
     @Test
     void testCreateRefreshToken() {
-        when(refreshTokenRepository.save(any(RefreshToken.class))).thenAnswer(i -> i.getArguments()[0]);
-
-        RefreshToken refreshToken = jwtService.createRefreshToken(user);
+        String refreshToken = jwtService.createRefreshToken(user.getId());
 
         assertNotNull(refreshToken);
-        assertEquals(user, refreshToken.getUser());
-        assertNotNull(refreshToken.getToken());
-        verify(refreshTokenRepository).deleteByUser(user);
-        verify(refreshTokenRepository).save(any(RefreshToken.class));
+        verify(refreshTokenStore).create(user.getId(), refreshToken, Duration.ofMillis(refreshExpirationMs));
     }
 
     /**
@@ -137,6 +137,73 @@ class JwtServiceTest {
         assertNull(decodedJWT);
     }
 
+    /**
+     * Test single-pass extraction of the token principal.
+     */
+    @Test
+    void testParseAccessToken_Valid() {
+        String token = jwtService.generateAccessToken(user);
+
+        JwtPrincipal principal = jwtService.parseAccessToken(token);
+
+        assertNotNull(principal);
+        assertEquals(user.getId().toString(), principal.subject());
+        assertEquals(user.getEmail(), principal.email());
+        assertEquals(SystemRole.SYSTEM_ADMIN, principal.role());
+        assertTrue(principal.emailVerified());
+        assertEquals(JWT.decode(token).getId(), principal.tokenId());
+        assertEquals(22, principal.tokenId().length());
+    }
+
+    /**
+     * Test tokens issued without a jti are identified by the full token, the
+     * key older releases revoked them under.
+     */
+    @Test
+    void testParseAccessToken_WithoutJti() {
+        String token = JWT.create()
+                .withSubject(user.getId().toString())
+                .withClaim("user_email", user.getEmail())
+                .withClaim("role", user.getSystemRole().name())
+                .withExpiresAt(new Date(System.currentTimeMillis() + 10000))
+                .sign(Algorithm.HMAC256(secret));
+
+        assertEquals(token, jwtService.parseAccessToken(token).tokenId());
+    }
+
+    /**
+     * Test tokens without a jti are checked against Redis even when the local
+     * filter has never seen them, since older releases do not publish to it.
+     */
+    @Test
+    void testIsTokenBlacklisted_WithoutJtiSkipsLocalFilter() {
+        String token = JWT.create()
+                .withSubject(user.getId().toString())
+                .withClaim("user_email", user.getEmail())
+                .withClaim("role", user.getSystemRole().name())
+                .withExpiresAt(new Date(System.currentTimeMillis() + 10000))
+                .sign(Algorithm.HMAC256(secret));
+        JwtPrincipal principal = jwtService.parseAccessToken(token);
+        when(revocationStore.isRevoked(token, principal.expiresAt())).thenReturn(true);
+
+        assertTrue(jwtService.isTokenBlacklisted(principal));
+        verify(localBlacklist, never()).mightContain(any());
+    }
+
+    /**
+     * Test principal extraction rejects tokens with an unknown role.
+     */
+    @Test
+    void testParseAccessToken_UnknownRole() {
+        String token = JWT.create()
+                .withSubject(user.getId().toString())
+                .withClaim("user_email", user.getEmail())
+                .withClaim("role", "ROOT")
+                .sign(Algorithm.HMAC256(secret));
+
+        assertNull(jwtService.parseAccessToken(token));
+    }
+
     /**
      * Test adding valid token to blacklist.
      */
@@ -144,9 +211,36 @@ class JwtServiceTest {
     void testAddToBlackList_ValidToken() {
         String token = jwtService.generateAccessToken(user);
 
+        String tokenId = JWT.decode(token).getId();
+
         jwtService.addToBlackList(token);
 
-        verify(redisService).set(eq("auth:tokens:blacklist:" + token), eq(true), any(Duration.class));
+        verify(revocationStore).revoke(eq(tokenId), any(Instant.class));
+        verify(localBlacklist).publish(tokenId);
+    }
+
+    /**
+     * Test blacklist lookup skips Redis when the local filter rules the token out.
+     */
+    @Test
+    void testIsTokenBlacklisted_LocalFilterMiss() {
+        JwtPrincipal principal = jwtService.parseAccessToken(jwtService.generateAccessToken(user));
+        when(localBlacklist.mightContain(principal.tokenId())).thenReturn(false);
+
+        assertFalse(jwtService.isTokenBlacklisted(principal));
+        verify(revocationStore, never()).isRevoked(any(), any());
+    }
+
+    /**
+     * Test blacklist lookup confirms possible hits against Redis.
+     */
+    @Test
+    void testIsTokenBlacklisted_LocalFilterHit() {
+        JwtPrincipal principal = jwtService.parseAccessToken(jwtService.generateAccessToken(user));
+        when(localBlacklist.mightContain(principal.tokenId())).thenReturn(true);
+        when(revocationStore.isRevoked(principal.tokenId(), principal.expiresAt())).thenReturn(true);
+
+        assertTrue(jwtService.isTokenBlacklisted(principal));
     }
 
     /**
@@ -158,7 +252,7 @@ class JwtServiceTest {
 
         jwtService.addToBlackList(token);
 
-        verify(redisService, never()).set(any(), any(), any());
+        verify(revocationStore, never()).revoke(any(), any());
     }
 
     /**
@@ -180,6 +274,6 @@ class JwtServiceTest {
 
         jwtService.removeTokenAccess(user, token);
 
-        verify(refreshTokenRepository).deleteByUser(user);
+        verify(refreshTokenStore).revokeAll(user);
     }
 }
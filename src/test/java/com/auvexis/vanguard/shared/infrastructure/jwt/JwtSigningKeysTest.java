@@ -0,0 +1,127 @@
+package com.auvexis.vanguard.shared.infrastructure.jwt;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.spec.ECGenParameterSpec;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.interfaces.DecodedJWT;
+
+/**
+ * Unit tests for JwtSigningKeys.
+ */
+class JwtSigningKeysTest {
+
+    private KeyPair oldKey;
+    private KeyPair newKey;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+        generator.initialize(new ECGenParameterSpec("secp256r1"));
+        oldKey = generator.generateKeyPair();
+        newKey = generator.generateKeyPair();
+    }
+
+    /**
+     * Test ES256 tokens carry the active kid and verify with the same keys.
+     */
+    @Test
+    void testEs256_SignsWithActiveKeyId() {
+        JwtSigningKeys keys = new JwtSigningKeys("unused", new JwtSigningProperties(
+                "ES256", "k1", List.of(key("k1", oldKey, true)), false));
+
+        String token = JWT.create().withSubject("user").sign(keys.algorithm());
+        DecodedJWT decoded = JWT.require(keys.algorithm()).build().verify(token);
+
+        assertEquals("k1", decoded.getKeyId());
+        assertEquals("ES256", decoded.getAlgorithm());
+    }
+
+    /**
+     * Test tokens signed by a retired key still verify during rotation.
+     */
+    @Test
+    void testEs256_RotationKeepsRetiredKeysVerifiable() {
+        JwtSigningKeys before = new JwtSigningKeys("unused", new JwtSigningProperties(
+                "ES256", "k1", List.of(key("k1", oldKey, true)), false));
+        JwtSigningKeys after = new JwtSigningKeys("unused", new JwtSigningProperties(
+                "ES256", "k2", List.of(key("k1", oldKey, false), key("k2", newKey, true)), false));
+
+        String oldToken = JWT.create().withSubject("user").sign(before.algorithm());
+        String newToken = JWT.create().withSubject("user").sign(after.algorithm());
+
+        assertEquals("k1", JWT.require(after.algorithm()).build().verify(oldToken).getKeyId());
+        assertEquals("k2", JWT.require(after.algorithm()).build().verify(newToken).getKeyId());
+    }
+
+    /**
+     * Test the JWKS document exposes every verification key.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void testJwks_PublishesAllPublicKeys() {
+        JwtSigningKeys keys = new JwtSigningKeys("unused", new JwtSigningProperties(
+                "ES256", "k2", List.of(key("k1", oldKey, false), key("k2", newKey, true)), false));
+
+        List<Map<String, String>> jwks = (List<Map<String, String>>) keys.jwks().get("keys");
+
+        assertEquals(2, jwks.size());
+        assertEquals("k1", jwks.get(0).get("kid"));
+        assertEquals("P-256", jwks.get(1).get("crv"));
+        assertEquals(43, jwks.get(1).get("x").length());
+        assertEquals(43, jwks.get(1).get("y").length());
+    }
+
+    /**
+     * Test ES256 without a configured key fails instead of signing with a
+     * per-node key.
+     */
+    @Test
+    void testEs256_WithoutKey_FailsStartup() {
+        JwtSigningProperties properties = new JwtSigningProperties("ES256", null, List.of(), false);
+
+        assertThrows(IllegalStateException.class, () -> new JwtSigningKeys("unused", properties));
+    }
+
+    /**
+     * Test the ephemeral key is used only when asked for.
+     */
+    @Test
+    void testEs256_EphemeralKeyWhenEnabled() {
+        JwtSigningKeys keys = new JwtSigningKeys("unused", new JwtSigningProperties("ES256", null, List.of(), true));
+
+        String token = JWT.create().withSubject("user").sign(keys.algorithm());
+
+        assertTrue(JWT.decode(token).getKeyId().startsWith("ephemeral-"));
+        assertEquals(1, ((List<?>) keys.jwks().get("keys")).size());
+    }
+
+    /**
+     * Test the symmetric secret is never published.
+     */
+    @Test
+    void testHs256_PublishesNoKeys() {
+        JwtSigningKeys keys = new JwtSigningKeys("secret", new JwtSigningProperties("HS256", null, List.of(), false));
+
+        assertTrue(((List<?>) keys.jwks().get("keys")).isEmpty());
+    }
+
+    private static JwtSigningProperties.Key key(String id, KeyPair keyPair, boolean withPrivateKey) {
+        Base64.Encoder encoder = Base64.getEncoder();
+        return new JwtSigningProperties.Key(
+                id,
+                withPrivateKey ? encoder.encodeToString(keyPair.getPrivate().getEncoded()) : null,
+                encoder.encodeToString(keyPair.getPublic().getEncoded()));
+    }
+}
@@ -0,0 +1,97 @@
+package com.auvexis.vanguard.shared.infrastructure.jwt;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+/**
+ * Unit tests for LocalTokenBlacklist.
+ */
+@ExtendWith(MockitoExtension.class)
+class LocalTokenBlacklistTest {
+
+    private static final byte[] CHANNEL = LocalTokenBlacklist.CHANNEL.getBytes(StandardCharsets.UTF_8);
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private TokenRevocationStore revocationStore;
+
+    @Mock
+    private RedisMessageListenerContainer listenerContainer;
+
+    private LocalTokenBlacklist blacklist;
+
+    @BeforeEach
+    void setUp() {
+        blacklist = new LocalTokenBlacklist(redisTemplate, revocationStore, listenerContainer, 1000, 0.01);
+    }
+
+    /**
+     * Test that a revocation whose message was lost during a reconnect is
+     * found once the filter has been reseeded.
+     */
+    @Test
+    void testResubscribe_ReseedsMissedRevocations() {
+        blacklist.seed();
+        assertFalse(blacklist.mightContain("missed"));
+
+        revoked("missed");
+        blacklist.onChannelSubscribed(CHANNEL, 1);
+
+        assertTrue(blacklist.mightContain("missed"));
+        blacklist.reseedIfNeeded();
+        assertTrue(blacklist.mightContain("missed"));
+        assertFalse(blacklist.mightContain("other"));
+    }
+
+    /**
+     * Test that a seed started before a resubscription leaves the filter
+     * unseeded.
+     */
+    @Test
+    void testSeed_InterruptedByResubscribe_StaysUnseeded() {
+        doAnswer(invocation -> {
+            blacklist.onChannelSubscribed(CHANNEL, 1);
+            return null;
+        }).when(revocationStore).forEachRevoked(any());
+
+        blacklist.seed();
+
+        assertTrue(blacklist.mightContain("anything"));
+    }
+
+    /**
+     * Test that rotation reseeds the new generation even when already seeded.
+     */
+    @Test
+    void testRotate_AlwaysReseeds() {
+        blacklist.seed();
+        revoked("missed");
+
+        blacklist.rotate();
+
+        assertTrue(blacklist.mightContain("missed"));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void revoked(String id) {
+        doAnswer(invocation -> {
+            ((Consumer<String>) invocation.getArgument(0)).accept(id);
+            return null;
+        }).when(revocationStore).forEachRevoked(any());
+    }
+}
@@ -0,0 +1,107 @@
+package com.auvexis.vanguard.shared.infrastructure.rabbitmq;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atMost;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitOperations;
+import org.springframework.amqp.rabbit.core.RabbitOperations.OperationsCallback;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Unit tests for BatchingRabbitPublisher.
+ */
+@ExtendWith(MockitoExtension.class)
+class BatchingRabbitPublisherTest {
+
+    @Mock
+    private RabbitTemplate rabbitTemplate;
+
+    @Mock
+    private RabbitOperations operations;
+
+    private BatchingRabbitPublisher publisher;
+
+    private final Message message = new Message(new byte[0], new MessageProperties());
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        publisher = new BatchingRabbitPublisher(rabbitTemplate, new SimpleMeterRegistry(), 10, 20, 100, 100, 100, 500);
+        when(rabbitTemplate.invoke(any(OperationsCallback.class)))
+                .thenAnswer(invocation -> ((OperationsCallback<Object>) invocation.getArgument(0)).doInRabbit(operations));
+        publisher.start();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        publisher.stop();
+    }
+
+    /**
+     * Test that acked messages complete their future and are sent together.
+     */
+    @Test
+    void testPublish_completesOnAck() throws Exception {
+        doAnswer(invocation -> {
+            CorrelationData correlation = invocation.getArgument(3);
+            correlation.getFuture().complete(new CorrelationData.Confirm(true, null));
+            return null;
+        }).when(operations).send(eq("exchange"), anyString(), any(Message.class), any(CorrelationData.class));
+
+        CompletableFuture<Void> first = publisher.publish("exchange", "key", message, "1");
+        CompletableFuture<Void> second = publisher.publish("exchange", "key", message, "2");
+
+        first.get(1, TimeUnit.SECONDS);
+        second.get(1, TimeUnit.SECONDS);
+        verify(rabbitTemplate, atMost(2)).invoke(any());
+    }
+
+    /**
+     * Test that a nacked message fails its future.
+     */
+    @Test
+    void testPublish_failsOnNack() {
+        doAnswer(invocation -> {
+            CorrelationData correlation = invocation.getArgument(3);
+            correlation.getFuture().complete(new CorrelationData.Confirm(false, "overloaded"));
+            return null;
+        }).when(operations).send(anyString(), anyString(), any(Message.class), any(CorrelationData.class));
+
+        CompletableFuture<Void> result = publisher.publish("exchange", "key", message, "1");
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> result.get(1, TimeUnit.SECONDS));
+        assertTrue(e.getCause().getMessage().contains("overloaded"));
+    }
+
+    /**
+     * Test that a message without a confirm fails after the confirm timeout.
+     */
+    @Test
+    void testPublish_failsWithoutConfirm() {
+        CompletableFuture<Void> result = publisher.publish("exchange", "key", message, "1");
+
+        assertThrows(ExecutionException.class, () -> result.get(2, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,119 @@
+package com.auvexis.vanguard.shared.infrastructure.rabbitmq;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.core.AmqpAdmin;
+import org.springframework.amqp.rabbit.core.ChannelCallback;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+import com.rabbitmq.client.AMQP;
+import com.rabbitmq.client.Channel;
+import com.rabbitmq.client.Envelope;
+import com.rabbitmq.client.GetResponse;
+
+/**
+ * Unit tests for DeadLetterService.
+ */
+@ExtendWith(MockitoExtension.class)
+class DeadLetterServiceTest {
+
+    private static final String QUEUE = "email.queue";
+
+    @Mock
+    private RabbitTemplate rabbitTemplate;
+
+    @Mock
+    private AmqpAdmin amqpAdmin;
+
+    @Mock
+    private Channel channel;
+
+    private DeadLetterService service;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        RetryTopology topology = new RetryTopology(new long[] { 5000 }, 5);
+        topology.declare(QUEUE);
+        service = new DeadLetterService(rabbitTemplate, amqpAdmin, topology, 50);
+
+        when(rabbitTemplate.execute(any())).thenAnswer(
+                invocation -> invocation.<ChannelCallback<?>>getArgument(0).doInRabbit(channel));
+    }
+
+    /**
+     * Test that a dead-lettered message is acked only after its republish is
+     * confirmed.
+     */
+    @Test
+    void testReplay_acksAfterConfirm() throws Exception {
+        when(channel.basicGet("email.queue.dlq", false)).thenReturn(response(7), (GetResponse) null);
+
+        assertEquals(1, service.replay(QUEUE, 10));
+
+        InOrder order = inOrder(channel);
+        order.verify(channel).confirmSelect();
+        order.verify(channel).basicPublish(eq(""), eq(QUEUE), any(AMQP.BasicProperties.class), any(byte[].class));
+        order.verify(channel).waitForConfirmsOrDie(50);
+        order.verify(channel).basicAck(7, false);
+    }
+
+    /**
+     * Test that an unconfirmed republish leaves the message on the dead-letter
+     * queue.
+     */
+    @Test
+    void testReplay_doesNotAckUnconfirmed() throws Exception {
+        when(channel.basicGet("email.queue.dlq", false)).thenReturn(response(7));
+        doThrow(new TimeoutException("no confirm")).when(channel).waitForConfirmsOrDie(anyLong());
+
+        assertThrows(TimeoutException.class, () -> service.replay(QUEUE, 10));
+
+        verify(channel, never()).basicAck(anyLong(), anyBoolean());
+    }
+
+    /**
+     * Test that the retry headers are stripped so the message gets a fresh
+     * retry budget.
+     */
+    @Test
+    void testReplay_stripsRetryHeaders() throws Exception {
+        when(channel.basicGet("email.queue.dlq", false)).thenReturn(response(7), (GetResponse) null);
+
+        service.replay(QUEUE, 10);
+
+        ArgumentCaptor<AMQP.BasicProperties> properties = ArgumentCaptor.forClass(AMQP.BasicProperties.class);
+        verify(channel).basicPublish(eq(""), eq(QUEUE), properties.capture(), any(byte[].class));
+        assertEquals(Map.of("custom", "kept"), properties.getValue().getHeaders());
+    }
+
+    private static GetResponse response(long deliveryTag) {
+        AMQP.BasicProperties properties = new AMQP.BasicProperties.Builder()
+                .headers(Map.of(
+                        TieredRetryRecoverer.RETRY_COUNT_HEADER, 4,
+                        TieredRetryRecoverer.EXCEPTION_HEADER, "boom",
+                        TieredRetryRecoverer.ORIGINAL_QUEUE_HEADER, QUEUE,
+                        "custom", "kept"))
+                .build();
+        return new GetResponse(new Envelope(deliveryTag, false, "", "email.queue.dlq"), properties, new byte[0], 0);
+    }
+}
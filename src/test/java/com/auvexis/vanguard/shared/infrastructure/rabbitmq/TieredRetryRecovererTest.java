@@ -0,0 +1,154 @@
+package com.auvexis.vanguard.shared.infrastructure.rabbitmq;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.AmqpRejectAndDontRequeueException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.core.ReturnedMessage;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.MessageConversionException;
+
+/**
+ * Unit tests for TieredRetryRecoverer.
+ */
+@ExtendWith(MockitoExtension.class)
+class TieredRetryRecovererTest {
+
+    private static final String QUEUE = "email.queue";
+
+    @Mock
+    private RabbitTemplate rabbitTemplate;
+
+    private TieredRetryRecoverer recoverer;
+
+    @BeforeEach
+    void setUp() {
+        RetryTopology topology = new RetryTopology(new long[] { 5000, 30000, 300000 }, 5);
+        topology.declare(QUEUE);
+        recoverer = new TieredRetryRecoverer(rabbitTemplate, topology, 50);
+    }
+
+    /**
+     * Test that failures walk through the delay tiers, repeating the last one.
+     */
+    @Test
+    void testRecover_routesToNextTier() {
+        confirm(true, false);
+
+        assertEquals("email.queue.retry.5000", recoverAfter(0));
+        assertEquals("email.queue.retry.30000", recoverAfter(1));
+        assertEquals("email.queue.retry.300000", recoverAfter(2));
+        assertEquals("email.queue.retry.300000", recoverAfter(3));
+    }
+
+    /**
+     * Test that the last attempt parks the message in the dead-letter queue.
+     */
+    @Test
+    void testRecover_deadLettersAfterMaxAttempts() {
+        confirm(true, false);
+
+        assertEquals("email.queue.dlq", recoverAfter(4));
+    }
+
+    /**
+     * Test that messages that cannot be converted are not retried.
+     */
+    @Test
+    void testRecover_deadLettersPermanentFailures() {
+        confirm(true, false);
+        Message message = message(0);
+
+        recoverer.recover(message, new RuntimeException(new MessageConversionException("bad payload")));
+
+        verify(rabbitTemplate).send(eq(""), eq("email.queue.dlq"), eq(message), any(CorrelationData.class));
+    }
+
+    /**
+     * Test that a nacked republish fails, so the original is redelivered.
+     */
+    @Test
+    void testRecover_throwsOnNack() {
+        confirm(false, false);
+
+        assertThrows(AmqpException.class, () -> recoverer.recover(message(0), new RuntimeException("boom")));
+    }
+
+    /**
+     * Test that an unroutable republish fails, even though the broker acks it.
+     */
+    @Test
+    void testRecover_throwsOnReturn() {
+        confirm(true, true);
+
+        assertThrows(AmqpException.class, () -> recoverer.recover(message(0), new RuntimeException("boom")));
+    }
+
+    /**
+     * Test that a republish the broker never confirms fails.
+     */
+    @Test
+    void testRecover_throwsOnConfirmTimeout() {
+        assertThrows(AmqpException.class, () -> recoverer.recover(message(0), new RuntimeException("boom")));
+    }
+
+    /**
+     * Test that queues without retry topology are rejected.
+     */
+    @Test
+    void testRecover_unknownQueue() {
+        Message message = new Message(new byte[0], new MessageProperties());
+        message.getMessageProperties().setConsumerQueue("other.queue");
+
+        assertThrows(AmqpRejectAndDontRequeueException.class,
+                () -> recoverer.recover(message, new RuntimeException("boom")));
+        verify(rabbitTemplate, never()).send(anyString(), anyString(), any(Message.class), any(CorrelationData.class));
+    }
+
+    private String recoverAfter(int retries) {
+        Message message = message(retries);
+        recoverer.recover(message, new RuntimeException("boom"));
+
+        ArgumentCaptor<String> queue = ArgumentCaptor.forClass(String.class);
+        verify(rabbitTemplate, atLeastOnce())
+                .send(anyString(), queue.capture(), any(Message.class), any(CorrelationData.class));
+        return queue.getValue();
+    }
+
+    private void confirm(boolean ack, boolean returned) {
+        doAnswer(invocation -> {
+            CorrelationData correlation = invocation.getArgument(3);
+            if (returned) {
+                correlation.setReturned(new ReturnedMessage(invocation.getArgument(2), 312, "NO_ROUTE", "", "gone"));
+            }
+            correlation.getFuture().complete(new CorrelationData.Confirm(ack, ack ? null : "nack"));
+            return null;
+        }).when(rabbitTemplate).send(anyString(), anyString(), any(Message.class), any(CorrelationData.class));
+    }
+
+    private static Message message(int retries) {
+        MessageProperties properties = new MessageProperties();
+        properties.setConsumerQueue(QUEUE);
+        if (retries > 0) {
+            properties.setHeader(TieredRetryRecoverer.RETRY_COUNT_HEADER, retries);
+        }
+        return new Message(new byte[0], properties);
+    }
+}
@@ -0,0 +1,58 @@
+package com.auvexis.vanguard.shared.infrastructure.redis;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import com.auvexis.vanguard.modules.auth.infrastructure.cache.UserResponseCodec;
+import com.auvexis.vanguard.modules.auth.web.dtos.UserResponse;
+
+/**
+ * Compares payload size and encode/decode time of the compact and JSON
+ * serializers for a cached profile.
+ *
+ * Run with: {@code mvn test -Dtest=CompactRedisSerializerBenchmark -Dbenchmark=true}
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class CompactRedisSerializerBenchmark {
+
+    private static final int WARMUP = 200_000;
+    private static final int ITERATIONS = 1_000_000;
+
+    @Test
+    void compareFormats() {
+        RedisSerializer<Object> json = RedisConfiguration.jsonSerializer();
+        RedisSerializer<Object> compact = new CompactRedisSerializer(List.of(new UserResponseCodec()), json);
+        UserResponse profile = CompactRedisSerializerTest.profile();
+
+        report("json", json, profile);
+        report("compact", compact, profile);
+    }
+
+    private static void report(String name, RedisSerializer<Object> serializer, Object value) {
+        byte[] bytes = serializer.serialize(value);
+
+        run(serializer, value, bytes, WARMUP);
+        long encode = time(() -> serializer.serialize(value));
+        long decode = time(() -> serializer.deserialize(bytes));
+
+        System.out.printf("%-8s %4d bytes  encode %6d ns/op  decode %6d ns/op%n",
+                name, bytes.length, encode / ITERATIONS, decode / ITERATIONS);
+    }
+
+    private static void run(RedisSerializer<Object> serializer, Object value, byte[] bytes, int iterations) {
+        for (int i = 0; i < iterations; i++) {
+            serializer.deserialize(serializer.serialize(value));
+        }
+    }
+
+    private static long time(Runnable operation) {
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            operation.run();
+        }
+        return System.nanoTime() - start;
+    }
+}
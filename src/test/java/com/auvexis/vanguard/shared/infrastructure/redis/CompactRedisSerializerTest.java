@@ -0,0 +1,99 @@
+package com.auvexis.vanguard.shared.infrastructure.redis;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+
+import com.auvexis.vanguard.modules.auth.domain.SystemRole;
+import com.auvexis.vanguard.modules.auth.infrastructure.cache.UserResponseCodec;
+import com.auvexis.vanguard.modules.auth.web.dtos.UserResponse;
+
+/**
+ * Unit tests for CompactRedisSerializer.
+ */
+class CompactRedisSerializerTest {
+
+    private GenericJackson2JsonRedisSerializer json;
+    private CompactRedisSerializer serializer;
+
+    @BeforeEach
+    void setUp() {
+        json = RedisConfiguration.jsonSerializer();
+        serializer = new CompactRedisSerializer(List.of(new UserResponseCodec()), json);
+    }
+
+    static UserResponse profile() {
+        return new UserResponse(
+                UUID.randomUUID(),
+                "John Doe",
+                "john@example.com",
+                SystemRole.SYSTEM_ADMIN,
+                true,
+                Instant.parse("2026-01-01T10:15:30.123456Z"),
+                null);
+    }
+
+    /**
+     * Test that registered types survive a round trip.
+     */
+    @Test
+    void testRoundTrip() {
+        UserResponse profile = profile();
+
+        assertEquals(profile, serializer.deserialize(serializer.serialize(profile)));
+        assertEquals(Boolean.TRUE, serializer.deserialize(serializer.serialize(true)));
+        assertEquals("", serializer.deserialize(serializer.serialize("")));
+        assertEquals(42L, serializer.deserialize(serializer.serialize(42L)));
+        assertNull(serializer.deserialize(serializer.serialize(null)));
+    }
+
+    /**
+     * Test that the binary layout is smaller than the typed JSON layout.
+     */
+    @Test
+    void testPayloadIsSmallerThanJson() {
+        UserResponse profile = profile();
+
+        assertTrue(serializer.serialize(profile).length * 2 < json.serialize(profile).length);
+        assertTrue(serializer.serialize(true).length < json.serialize(true).length);
+    }
+
+    /**
+     * Test that entries written with the previous JSON format remain readable.
+     */
+    @Test
+    void testReadsLegacyEntries() {
+        UserResponse profile = profile();
+
+        assertEquals(profile, serializer.deserialize(json.serialize(profile)));
+        assertEquals(Boolean.TRUE, serializer.deserialize(json.serialize(true)));
+    }
+
+    /**
+     * Test that unregistered types fall back to JSON.
+     */
+    @Test
+    void testUnregisteredTypeUsesLegacyFormat() {
+        UUID value = UUID.randomUUID();
+
+        assertEquals(value, serializer.deserialize(serializer.serialize(value)));
+    }
+
+    /**
+     * Test that two codecs cannot share a type id.
+     */
+    @Test
+    void testDuplicateTypeIdIsRejected() {
+        assertThrows(IllegalStateException.class,
+                () -> new CompactRedisSerializer(List.of(new UserResponseCodec(), new UserResponseCodec()), json));
+    }
+}
@@ -1,19 +1,29 @@
 package com.auvexis.vanguard.shared.infrastructure.redis;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.ReactiveValueOperations;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
 import org.springframework.data.redis.core.ValueOperations;
 
+import reactor.core.publisher.Mono;
+
 /**
  * Unit tests for RedisService.
  */
@@ -26,11 +36,17 @@ class RedisServiceTest {
     @Mock
     private ValueOperations<String, Object> valueOperations;
 
+    @Mock
+    private ReactiveRedisTemplate<String, Object> reactiveRedisTemplate;
+
+    @Mock
+    private ReactiveValueOperations<String, Object> reactiveValueOperations;
+
     private RedisService redisService;
 
     @BeforeEach
     void setUp() {
-        redisService = new RedisService(redisTemplate);
+        redisService = new RedisService(redisTemplate, reactiveRedisTemplate);
     }
 
     /**
@@ -92,4 +108,62 @@ class RedisServiceTest {
 
         verify(redisTemplate).delete(key);
     }
+
+    /**
+     * Test of mget method.
+     */
+    @Test
+    void testMget() {
+        List<String> keys = List.of("a", "b");
+
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.multiGet(keys)).thenReturn(Arrays.asList("1", null));
+
+        assertEquals(Arrays.asList("1", null), redisService.mget(keys));
+    }
+
+    /**
+     * Test that mget with no keys does not reach Redis.
+     */
+    @Test
+    void testMget_emptyKeys() {
+        assertEquals(List.of(), redisService.mget(List.of()));
+        verifyNoInteractions(redisTemplate);
+    }
+
+    /**
+     * Test of mset method without TTL.
+     */
+    @Test
+    void testMset() {
+        Map<String, Object> values = Map.of("a", "1", "b", "2");
+
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+
+        redisService.mset(values);
+
+        verify(valueOperations).multiSet(values);
+    }
+
+    /**
+     * Test that mset with TTL runs as a single pipeline.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void testMset_withTtl() {
+        redisService.mset(Map.of("a", "1"), Duration.ofMinutes(5));
+
+        verify(redisTemplate).executePipelined(any(SessionCallback.class));
+    }
+
+    /**
+     * Test of getAsync method.
+     */
+    @Test
+    void testGetAsync() {
+        when(reactiveRedisTemplate.opsForValue()).thenReturn(reactiveValueOperations);
+        when(reactiveValueOperations.get("testKey")).thenReturn(Mono.just("testValue"));
+
+        assertEquals("testValue", redisService.getAsync("testKey").join());
+    }
 }
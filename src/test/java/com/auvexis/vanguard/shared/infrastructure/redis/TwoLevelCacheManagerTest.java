@@ -0,0 +1,159 @@
+package com.auvexis.vanguard.shared.infrastructure.redis;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Unit tests for TwoLevelCacheManager.
+ */
+@ExtendWith(MockitoExtension.class)
+class TwoLevelCacheManagerTest {
+
+    private static final String PROFILE = "auth:user:profile";
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private RedisMessageListenerContainer listenerContainer;
+
+    @Mock
+    private Message message;
+
+    private ConcurrentMapCacheManager remote;
+    private TwoLevelCacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        remote = new ConcurrentMapCacheManager();
+        cacheManager = new TwoLevelCacheManager(
+                remote,
+                redisTemplate,
+                listenerContainer,
+                new SimpleMeterRegistry(),
+                Set.of(PROFILE),
+                100,
+                Duration.ofMinutes(1));
+    }
+
+    /**
+     * Test that a value read once is served locally afterwards.
+     */
+    @Test
+    void testGet_servedFromLocalCache() {
+        remote.getCache(PROFILE).put("john@example.com", "v1");
+        Cache cache = cacheManager.getCache(PROFILE);
+
+        assertEquals("v1", cache.get("john@example.com").get());
+
+        remote.getCache(PROFILE).put("john@example.com", "v2");
+        assertEquals("v1", cache.get("john@example.com").get());
+    }
+
+    /**
+     * Test that evicting drops both levels and notifies the other nodes.
+     */
+    @Test
+    void testEvict_publishesInvalidation() {
+        Cache cache = cacheManager.getCache(PROFILE);
+        cache.put("john@example.com", "v1");
+        cache.get("john@example.com");
+
+        cache.evict("john@example.com");
+
+        ArgumentCaptor<String> captor = ArgumentCaptor.forClass(String.class);
+        verify(redisTemplate, times(2)).convertAndSend(eq(TwoLevelCacheManager.CHANNEL), captor.capture());
+        assertTrue(captor.getValue().endsWith("|E|" + PROFILE + "|john@example.com"));
+        assertNull(cache.get("john@example.com"));
+    }
+
+    /**
+     * Test that an invalidation from another node drops the local copy.
+     */
+    @Test
+    void testOnMessage_evictsLocalCopy() {
+        remote.getCache(PROFILE).put("john@example.com", "v1");
+        Cache cache = cacheManager.getCache(PROFILE);
+        cache.get("john@example.com");
+        remote.getCache(PROFILE).put("john@example.com", "v2");
+
+        when(message.getBody())
+                .thenReturn(("other-node|E|" + PROFILE + "|john@example.com").getBytes(StandardCharsets.UTF_8));
+        cacheManager.onMessage(message, null);
+
+        assertEquals("v2", cache.get("john@example.com").get());
+    }
+
+    /**
+     * Test that a value read from Redis is not kept locally when an eviction
+     * lands while the read is in flight.
+     */
+    @Test
+    void testGet_evictionDuringReadIsNotOverwritten() {
+        remote = new ConcurrentMapCacheManager() {
+            @Override
+            protected Cache createConcurrentMapCache(String name) {
+                return new ConcurrentMapCache(name) {
+                    @Override
+                    public ValueWrapper get(Object key) {
+                        ValueWrapper stale = super.get(key);
+                        super.put(key, "v2");
+                        cacheManager.onMessage(message, null);
+                        return stale;
+                    }
+                };
+            }
+        };
+        cacheManager = new TwoLevelCacheManager(
+                remote,
+                redisTemplate,
+                listenerContainer,
+                new SimpleMeterRegistry(),
+                Set.of(PROFILE),
+                100,
+                Duration.ofMinutes(1));
+        remote.getCache(PROFILE).put("john@example.com", "v1");
+        when(message.getBody())
+                .thenReturn(("other-node|E|" + PROFILE + "|john@example.com").getBytes(StandardCharsets.UTF_8));
+        Cache cache = cacheManager.getCache(PROFILE);
+
+        assertEquals("v1", cache.get("john@example.com").get());
+        assertEquals("v2", cache.get("john@example.com").get());
+    }
+
+    /**
+     * Test that caches without a local level are returned unchanged.
+     */
+    @Test
+    void testGetCache_remoteOnly() {
+        assertSame(remote.getCache("other"), cacheManager.getCache("other"));
+        verify(redisTemplate, never()).convertAndSend(anyString(), anyString());
+    }
+}